@@ -0,0 +1,91 @@
+package com.fintech.goalseek.benchmark;
+
+import com.fintech.goalseek.algorithm.BisectionAlgorithm;
+import com.fintech.goalseek.algorithm.BrentAlgorithm;
+import com.fintech.goalseek.algorithm.GoalSeekAlgorithm;
+import com.fintech.goalseek.algorithm.GoalSeekResult;
+import com.fintech.goalseek.algorithm.IllinoisAlgorithm;
+import com.fintech.goalseek.algorithm.ItpAlgorithm;
+import com.fintech.goalseek.algorithm.NewtonRaphsonAlgorithm;
+import com.fintech.goalseek.algorithm.SteffensenAlgorithm;
+import com.fintech.goalseek.benchmark.BenchmarkFormulas.GoalSeekCase;
+import com.fintech.goalseek.service.FormulaEvaluator;
+import com.fintech.goalseek.service.SeekBinding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Each algorithm solving each sample formula for each of its variables, with the function
+ * and derivative already bound. The bracket is [0, 10 x sample value], which holds the
+ * solution for every case.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlgorithmBenchmark {
+
+    private static final double TOLERANCE = 1e-10;
+    private static final int MAX_ITERATIONS = 1000;
+
+    @Param({"Brent", "Newton-Raphson", "Bisection", "ITP", "Illinois", "Steffensen"})
+    private String algorithmName;
+
+    @Param({"SIP_FUTURE_VALUE/P", "SIP_FUTURE_VALUE/r", "SIP_FUTURE_VALUE/n",
+            "EMI_CALCULATION/P", "EMI_CALCULATION/r", "EMI_CALCULATION/n",
+            "SIMPLE_INTEREST/P", "SIMPLE_INTEREST/R", "SIMPLE_INTEREST/T",
+            "COMPOUND_INTEREST/P", "COMPOUND_INTEREST/r", "COMPOUND_INTEREST/n", "COMPOUND_INTEREST/t",
+            "PRESENT_VALUE/CF", "PRESENT_VALUE/r", "PRESENT_VALUE/n",
+            "FUTURE_VALUE/PV", "FUTURE_VALUE/r", "FUTURE_VALUE/n",
+            "CREDIT_UTILIZATION/UsedCredit", "CREDIT_UTILIZATION/CreditLimit",
+            "ROI/FinalValue", "ROI/InitialValue",
+            "DEBT_TO_INCOME/MonthlyDebt", "DEBT_TO_INCOME/MonthlyIncome"})
+    private String goalSeekCase;
+
+    private GoalSeekAlgorithm algorithm;
+    private DoubleUnaryOperator function;
+    private DoubleUnaryOperator derivative;
+    private double target;
+    private double upperBound;
+
+    @Setup
+    public void setUp() {
+        algorithm = switch (algorithmName) {
+            case "Brent" -> new BrentAlgorithm();
+            case "Newton-Raphson" -> new NewtonRaphsonAlgorithm();
+            case "Bisection" -> new BisectionAlgorithm();
+            case "ITP" -> new ItpAlgorithm();
+            case "Illinois" -> new IllinoisAlgorithm();
+            case "Steffensen" -> new SteffensenAlgorithm();
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithmName);
+        };
+
+        FormulaEvaluator evaluator = BenchmarkFormulas.evaluator("exp4j");
+        GoalSeekCase seek = GoalSeekCase.parse(goalSeekCase, evaluator);
+        String expression = seek.formula().getExpression();
+        SeekBinding binding = evaluator.bind(expression, seek.knownValues(), seek.seekVariable());
+        function = evaluator.createFunction(binding);
+        derivative = evaluator.createDerivative(binding);
+        target = seek.target();
+        upperBound = 10 * seek.expected();
+    }
+
+    @Benchmark
+    public GoalSeekResult solve() {
+        return algorithm.solve(function, derivative, target, 0, upperBound, TOLERANCE, MAX_ITERATIONS);
+    }
+}
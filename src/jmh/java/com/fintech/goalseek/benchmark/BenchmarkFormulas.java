@@ -0,0 +1,84 @@
+package com.fintech.goalseek.benchmark;
+
+import com.fintech.goalseek.config.DataInitializer;
+import com.fintech.goalseek.dto.FormulaRequest;
+import com.fintech.goalseek.expression.BytecodeFormulaCompiler;
+import com.fintech.goalseek.expression.Exp4jFormulaCompiler;
+import com.fintech.goalseek.expression.FormulaCompiler;
+import com.fintech.goalseek.service.FormulaEvaluator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The sample formulas from {@link DataInitializer} with a realistic value for each variable.
+ * A goal seek case is written as {@code FORMULA/variable}: the other variables keep their
+ * sample values and the target is the formula's value at the sample point.
+ */
+final class BenchmarkFormulas {
+
+    private static final Map<String, Map<String, Double>> SAMPLE_VALUES = Map.of(
+            "SIP_FUTURE_VALUE", Map.of("P", 5000.0, "r", 0.01, "n", 120.0),
+            "EMI_CALCULATION", Map.of("P", 1000000.0, "r", 0.01, "n", 120.0),
+            "SIMPLE_INTEREST", Map.of("P", 100000.0, "R", 8.0, "T", 5.0),
+            "COMPOUND_INTEREST", Map.of("P", 10000.0, "r", 0.08, "n", 12.0, "t", 10.0),
+            "PRESENT_VALUE", Map.of("CF", 10000.0, "r", 0.05, "n", 10.0),
+            "FUTURE_VALUE", Map.of("PV", 10000.0, "r", 0.05, "n", 10.0),
+            "CREDIT_UTILIZATION", Map.of("UsedCredit", 3000.0, "CreditLimit", 10000.0),
+            "ROI", Map.of("FinalValue", 1250.0, "InitialValue", 1000.0),
+            "DEBT_TO_INCOME", Map.of("MonthlyDebt", 2000.0, "MonthlyIncome", 6000.0)
+    );
+
+    private BenchmarkFormulas() {
+    }
+
+    static FormulaRequest formula(String name) {
+        return DataInitializer.sampleFormulas().stream()
+                .filter(formula -> formula.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown sample formula: " + name));
+    }
+
+    static Map<String, Double> sampleValues(String name) {
+        Map<String, Double> values = SAMPLE_VALUES.get(name);
+        if (values == null) {
+            throw new IllegalArgumentException("No sample values for formula: " + name);
+        }
+        return values;
+    }
+
+    static FormulaEvaluator evaluator(String backend) {
+        FormulaCompiler compiler = switch (backend) {
+            case "exp4j" -> new Exp4jFormulaCompiler();
+            case "bytecode" -> new BytecodeFormulaCompiler();
+            default -> throw new IllegalArgumentException("Unknown evaluator backend: " + backend);
+        };
+        return new FormulaEvaluator(compiler, 256, new SimpleMeterRegistry());
+    }
+
+    /**
+     * A goal seek case parsed from {@code FORMULA/variable}.
+     */
+    record GoalSeekCase(FormulaRequest formula, String seekVariable, Map<String, Double> knownValues,
+                        double expected, double target) {
+
+        static GoalSeekCase parse(String spec, FormulaEvaluator evaluator) {
+            int slash = spec.indexOf('/');
+            if (slash < 0) {
+                throw new IllegalArgumentException("Goal seek case must be FORMULA/variable: " + spec);
+            }
+            FormulaRequest formula = BenchmarkFormulas.formula(spec.substring(0, slash));
+            String seekVariable = spec.substring(slash + 1);
+            Map<String, Double> sample = sampleValues(formula.getName());
+            if (!sample.containsKey(seekVariable)) {
+                throw new IllegalArgumentException("Unknown variable in goal seek case: " + spec);
+            }
+
+            Map<String, Double> knownValues = new HashMap<>(sample);
+            knownValues.remove(seekVariable);
+            double target = evaluator.evaluate(formula.getExpression(), sample);
+            return new GoalSeekCase(formula, seekVariable, knownValues, sample.get(seekVariable), target);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.fintech.goalseek.benchmark;
+
+import com.fintech.goalseek.algorithm.BrentAlgorithm;
+import com.fintech.goalseek.algorithm.ColumnarSolver;
+import com.fintech.goalseek.algorithm.ConvergencePolicy;
+import com.fintech.goalseek.algorithm.GoalSeekResult;
+import com.fintech.goalseek.algorithm.SolveBudget;
+import com.fintech.goalseek.benchmark.BenchmarkFormulas.GoalSeekCase;
+import com.fintech.goalseek.expression.CompiledFormula;
+import com.fintech.goalseek.service.FormulaEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solving {@value #ROWS} goal seeks of one formula and seek variable, whose known values and
+ * targets vary slightly around the sample, either together with {@link ColumnarSolver} or one at
+ * a time with Brent's method, each row bound and solved as a single goal seek would be.
+ * The bracket is [0, 10 x sample value], which holds every solution.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnarSolverBenchmark {
+
+    private static final int ROWS = 4096;
+    private static final double TOLERANCE = 1e-10;
+    private static final int MAX_ITERATIONS = 1000;
+
+    @Param({"SIP_FUTURE_VALUE/r", "EMI_CALCULATION/r", "EMI_CALCULATION/P", "COMPOUND_INTEREST/t",
+            "PRESENT_VALUE/r", "ROI/FinalValue"})
+    private String goalSeekCase;
+
+    @Param({"exp4j", "bytecode"})
+    private String backend;
+
+    private FormulaEvaluator evaluator;
+    private String expression;
+    private CompiledFormula compiled;
+    private String seekVariable;
+    private int seekSlot;
+    private double[][] columns;
+    private double[] targets;
+    private double upperBound;
+    private ConvergencePolicy convergence;
+    private BrentAlgorithm brent;
+
+    @Setup
+    public void setUp() {
+        evaluator = BenchmarkFormulas.evaluator(backend);
+        GoalSeekCase seek = GoalSeekCase.parse(goalSeekCase, evaluator);
+        expression = seek.formula().getExpression();
+        compiled = evaluator.compile(expression, seek.formula().getVariables());
+        seekVariable = seek.seekVariable();
+
+        List<String> slots = compiled.getVariables();
+        seekSlot = slots.indexOf(seekVariable);
+        columns = new double[slots.size()][];
+        targets = new double[ROWS];
+        for (int i = 0; i < columns.length; i++) {
+            if (i != seekSlot) {
+                columns[i] = new double[ROWS];
+                for (int row = 0; row < ROWS; row++) {
+                    columns[i][row] = seek.knownValues().get(slots.get(i)) * (1 + row * 1e-6);
+                }
+            }
+        }
+        for (int row = 0; row < ROWS; row++) {
+            targets[row] = seek.target() * (1 - row * 1e-6);
+        }
+        upperBound = 10 * seek.expected();
+        convergence = ConvergencePolicy.absolute(TOLERANCE);
+        brent = new BrentAlgorithm();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ColumnarSolver.Result columnar() {
+        return ColumnarSolver.solve(new Columns(), targets, 0, upperBound, Double.NaN, MAX_ITERATIONS / 4,
+                MAX_ITERATIONS, convergence, SolveBudget.unlimited());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void perRow(Blackhole blackhole) {
+        List<String> slots = compiled.getVariables();
+        for (int row = 0; row < ROWS; row++) {
+            Map<String, Double> knownValues = new HashMap<>();
+            for (int i = 0; i < columns.length; i++) {
+                if (i != seekSlot) {
+                    knownValues.put(slots.get(i), columns[i][row]);
+                }
+            }
+            GoalSeekResult result = brent.solve(
+                    evaluator.createFunction(evaluator.bind(expression, knownValues, seekVariable)), null,
+                    targets[row], 0, upperBound, convergence, MAX_ITERATIONS, SolveBudget.unlimited());
+            blackhole.consume(result);
+        }
+    }
+
+    /**
+     * The formula minus the target over the benchmark's columns, compacted as the solver asks.
+     */
+    private final class Columns implements ColumnarSolver.ColumnFunction {
+
+        private final double[][] active = columns.clone();
+        private double[] activeTargets = targets;
+
+        @Override
+        public void evaluate(double[] x, double[] results) {
+            active[seekSlot] = x;
+            compiled.evaluate(active, results);
+            for (int i = 0; i < results.length; i++) {
+                results[i] -= activeTargets[i];
+            }
+        }
+
+        @Override
+        public void retain(int[] positions, int count) {
+            for (int i = 0; i < active.length; i++) {
+                if (i != seekSlot) {
+                    active[i] = gather(active[i], positions, count);
+                }
+            }
+            activeTargets = gather(activeTargets, positions, count);
+        }
+    }
+
+    private static double[] gather(double[] column, int[] positions, int count) {
+        double[] gathered = new double[count];
+        for (int i = 0; i < count; i++) {
+            gathered[i] = column[positions[i]];
+        }
+        return gathered;
+    }
+}
@@ -0,0 +1,109 @@
+package com.fintech.goalseek.benchmark;
+
+import com.fintech.goalseek.dto.FormulaRequest;
+import com.fintech.goalseek.expression.CompiledFormula;
+import com.fintech.goalseek.service.FormulaEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Cost of evaluating a formula through {@link FormulaEvaluator}: a one-off evaluation with a
+ * value map, an evaluation of a compiled formula with a reused slot array, an evaluation over
+ * {@value #ROWS} rows of columns, binding a goal seek function, and one call of a bound function,
+ * which is what the solvers pay per iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormulaEvaluatorBenchmark {
+
+    private static final int ROWS = 4096;
+
+    @Param({"SIP_FUTURE_VALUE", "EMI_CALCULATION", "SIMPLE_INTEREST", "COMPOUND_INTEREST", "PRESENT_VALUE",
+            "FUTURE_VALUE", "CREDIT_UTILIZATION", "ROI", "DEBT_TO_INCOME"})
+    private String formulaName;
+
+    @Param({"exp4j", "bytecode"})
+    private String backend;
+
+    private FormulaEvaluator evaluator;
+    private String expression;
+    private Map<String, Double> values;
+    private CompiledFormula compiled;
+    private double[] slotValues;
+    private double[][] columns;
+    private Map<String, Double> knownValues;
+    private String seekVariable;
+    private double seekValue;
+    private DoubleUnaryOperator function;
+
+    @Setup
+    public void setUp() {
+        FormulaRequest formula = BenchmarkFormulas.formula(formulaName);
+        evaluator = BenchmarkFormulas.evaluator(backend);
+        expression = formula.getExpression();
+        values = BenchmarkFormulas.sampleValues(formulaName);
+        compiled = evaluator.compile(expression, formula.getVariables());
+        slotValues = new double[formula.getVariables().size()];
+        for (int i = 0; i < slotValues.length; i++) {
+            slotValues[i] = values.get(formula.getVariables().get(i));
+        }
+        // Rows vary slightly around the sample so the JIT cannot treat the columns as constant
+        columns = new double[slotValues.length][ROWS];
+        for (int i = 0; i < slotValues.length; i++) {
+            for (int row = 0; row < ROWS; row++) {
+                columns[i][row] = slotValues[i] * (1 + row * 1e-6);
+            }
+        }
+
+        seekVariable = formula.getVariables().get(0);
+        seekValue = values.get(seekVariable);
+        knownValues = new HashMap<>(values);
+        knownValues.remove(seekVariable);
+        function = evaluator.createFunction(evaluator.bind(expression, knownValues, seekVariable));
+    }
+
+    @Benchmark
+    public double evaluate() {
+        return evaluator.evaluate(expression, values);
+    }
+
+    @Benchmark
+    public double evaluateCompiled() {
+        return evaluator.evaluate(compiled, slotValues);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public double[] evaluateColumns() {
+        return evaluator.evaluate(compiled, columns, ROWS);
+    }
+
+    @Benchmark
+    public DoubleUnaryOperator createFunction() {
+        return evaluator.createFunction(evaluator.bind(expression, knownValues, seekVariable));
+    }
+
+    @Benchmark
+    public double callFunction() {
+        return function.applyAsDouble(seekValue);
+    }
+}
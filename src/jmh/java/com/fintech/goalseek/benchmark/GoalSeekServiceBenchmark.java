@@ -0,0 +1,84 @@
+package com.fintech.goalseek.benchmark;
+
+import com.fintech.goalseek.GoalSeekEngineApplication;
+import com.fintech.goalseek.benchmark.BenchmarkFormulas.GoalSeekCase;
+import com.fintech.goalseek.dto.GoalSeekRequest;
+import com.fintech.goalseek.dto.GoalSeekResponse;
+import com.fintech.goalseek.service.FormulaEvaluator;
+import com.fintech.goalseek.service.GoalSeekService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The full {@link GoalSeekService#seekGoal} path, from formula lookup to response, in a
+ * Spring context without the web server. The result cache is off by default so every
+ * call solves; run with {@code -p resultCache=true} to measure cache hits instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GoalSeekServiceBenchmark {
+
+    @Param({"SIP_FUTURE_VALUE/P", "EMI_CALCULATION/r", "SIMPLE_INTEREST/R", "COMPOUND_INTEREST/r",
+            "PRESENT_VALUE/n", "CREDIT_UTILIZATION/CreditLimit", "ROI/FinalValue"})
+    private String goalSeekCase;
+
+    @Param({"exp4j", "bytecode"})
+    private String backend;
+
+    @Param("false")
+    private boolean resultCache;
+
+    private ConfigurableApplicationContext context;
+    private GoalSeekService goalSeekService;
+    private GoalSeekRequest request;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(GoalSeekEngineApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "logging.level.com.fintech.goalseek=WARN",
+                        "goalseek.evaluator.backend=" + backend,
+                        "goalseek.result-cache.enabled=" + resultCache)
+                .run();
+        goalSeekService = context.getBean(GoalSeekService.class);
+
+        GoalSeekCase seek = GoalSeekCase.parse(goalSeekCase, context.getBean(FormulaEvaluator.class));
+        request = GoalSeekRequest.builder()
+                .formulaName(seek.formula().getName())
+                .knownValues(seek.knownValues())
+                .seekVariable(seek.seekVariable())
+                .targetValue(seek.target())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public GoalSeekResponse seekGoal() {
+        return goalSeekService.seekGoal(request);
+    }
+}
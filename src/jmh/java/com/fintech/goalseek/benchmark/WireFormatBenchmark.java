@@ -0,0 +1,166 @@
+package com.fintech.goalseek.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.goalseek.codec.ColumnBlockWriter;
+import com.fintech.goalseek.codec.ColumnarMessageConverter;
+import com.fintech.goalseek.dto.ColumnarGoalSeekRequest;
+import com.fintech.goalseek.dto.ColumnarGoalSeekResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a columnar goal seek request and encoding its response, as JSON with Jackson and in
+ * the binary column block format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"100", "10000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private ColumnarMessageConverter converter;
+    private byte[] jsonRequest;
+    private byte[] binaryRequest;
+    private ColumnarGoalSeekResponse response;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        converter = new ColumnarMessageConverter(Integer.MAX_VALUE, Long.MAX_VALUE);
+
+        double[] principal = new double[rows];
+        double[] months = new double[rows];
+        double[] targets = new double[rows];
+        double[] rates = new double[rows];
+        for (int row = 0; row < rows; row++) {
+            principal[row] = 1000000 + row * 137.5;
+            months[row] = 120 + row % 240;
+            targets[row] = 14000 + row * 0.37;
+            rates[row] = 0.01 + row * 1e-7;
+        }
+        ColumnarGoalSeekRequest request = ColumnarGoalSeekRequest.builder()
+                .formulaName("EMI_CALCULATION")
+                .seekVariable("r")
+                .knownValues(Map.of("P", principal, "n", months))
+                .targetValues(targets)
+                .lowerBound(0.0001)
+                .upperBound(0.05)
+                .build();
+        jsonRequest = objectMapper.writeValueAsBytes(request);
+        binaryRequest = encodeRequest(request);
+        response = response(rates, targets);
+    }
+
+    private static ColumnarGoalSeekResponse response(double[] rates, double[] targets) {
+        boolean[] success = new boolean[rates.length];
+        int[] iterations = new int[rates.length];
+        Arrays.fill(success, true);
+        Arrays.fill(iterations, 6);
+        return ColumnarGoalSeekResponse.builder()
+                .formulaName("EMI_CALCULATION")
+                .seekVariable("r")
+                .rows(rates.length)
+                .succeeded(rates.length)
+                .success(success)
+                .computedValues(rates)
+                .achievedValues(targets)
+                .errors(new double[rates.length])
+                .iterations(iterations)
+                .algorithm("Columnar Brent")
+                .build();
+    }
+
+    /**
+     * The request in the binary format. The converter only writes responses, so requests
+     * are written field by field as a client would.
+     */
+    private static byte[] encodeRequest(ColumnarGoalSeekRequest request) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnBlockWriter writer = new ColumnBlockWriter(out);
+        writer.writeString("formulaName", request.getFormulaName());
+        writer.writeString("seekVariable", request.getSeekVariable());
+        for (Map.Entry<String, double[]> column : request.getKnownValues().entrySet()) {
+            writer.writeDoubles("knownValues." + column.getKey(), column.getValue());
+        }
+        writer.writeDoubles("targetValues", request.getTargetValues());
+        writer.writeDouble("lowerBound", request.getLowerBound());
+        writer.writeDouble("upperBound", request.getUpperBound());
+        writer.finish();
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public ColumnarGoalSeekRequest readJson() throws IOException {
+        return objectMapper.readValue(jsonRequest, ColumnarGoalSeekRequest.class);
+    }
+
+    @Benchmark
+    public Object readBinary() throws IOException {
+        return converter.read(ColumnarGoalSeekRequest.class, new Input(binaryRequest));
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeBinary() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.write(response, ColumnarMessageConverter.MEDIA_TYPE, new Output(out));
+        return out.toByteArray();
+    }
+
+    private record Input(byte[] body) implements HttpInputMessage {
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return new HttpHeaders();
+        }
+    }
+
+    private record Output(OutputStream body) implements HttpOutputMessage {
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return new HttpHeaders();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.fintech.goalseek.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limit on the goal seek requests in flight, adapted to the latency they observe.
+ *
+ * <p>A request is admitted while fewer than the limit are in flight. Beyond that it may wait
+ * up to {@code goalseek.admission.max-wait} in a queue of at most {@code goalseek.admission.queue-size};
+ * otherwise it is rejected at once. A client that already holds its share of the limit
+ * ({@code goalseek.admission.client-share}) is admitted only while nobody is waiting and a slot
+ * stays free for other clients, and is never queued, so one busy client cannot take every slot.
+ * On its own such a client may still use all but one slot.
+ *
+ * <p>With {@code goalseek.admission.adaptive} the limit follows the gradient of latency, as in
+ * TCP Vegas: every window of samples compares its average latency with a baseline, the lowest
+ * window average seen. In windows without queueing the baseline drifts slowly upwards, so that it
+ * follows a heavier mix of requests.
+ * While latency stays within {@value #TOLERANCE} times the baseline the limit grows by its square
+ * root; as queueing makes requests slower it shrinks in proportion. On one CPU, where requests beyond
+ * the first mostly wait, this settles on a small limit. Windows in which fewer than half the slots
+ * were used do not move the limit, since their latency says nothing about it.
+ */
+@Component
+public class AdaptiveConcurrencyLimit {
+
+    public static final String OUTCOME_ADMITTED = "admitted";
+    public static final String OUTCOME_QUEUED = "queued";
+    public static final String OUTCOME_REJECTED = "rejected";
+    public static final String OUTCOME_TIMED_OUT = "timed_out";
+    public static final String OUTCOME_CLIENT_LIMITED = "client_limited";
+
+    /**
+     * Latency over the baseline that is taken as no queueing.
+     */
+    private static final double TOLERANCE = 1.5;
+
+    /**
+     * Growth of the baseline latency per window without queueing, doubling in about 70 windows.
+     */
+    private static final double BASELINE_DRIFT = 1.01;
+
+    /**
+     * The smallest gradient applied per window, so the limit at most halves at a time.
+     */
+    private static final double MIN_GRADIENT = 0.5;
+
+    /**
+     * Weight of the new estimate when the limit is updated.
+     */
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * How the admission of a request was decided.
+     */
+    public enum Decision {
+        ADMITTED,
+        /**
+         * Rejected because the server is at its limit and the queue is full or the wait timed out.
+         */
+        OVERLOADED,
+        /**
+         * Rejected because the client holds its share of the limit and no slot is left over for it.
+         */
+        CLIENT_LIMITED
+    }
+
+    private final boolean adaptive;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueSize;
+    private final long maxWaitNanos;
+    private final double clientShare;
+    private final int windowSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+
+    // Guarded by lock
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private final Map<String, Integer> clientInFlight = new HashMap<>();
+    private double baselineRtt;
+    private double windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    private final Counter admitted;
+    private final Counter admittedAfterWait;
+    private final Counter rejected;
+    private final Counter timedOut;
+    private final Counter clientLimited;
+    private final Timer waitTimer;
+
+    public AdaptiveConcurrencyLimit(@Value("${goalseek.admission.adaptive:true}") boolean adaptive,
+                                    @Value("${goalseek.admission.initial-limit:4}") int initialLimit,
+                                    @Value("${goalseek.admission.min-limit:2}") int minLimit,
+                                    @Value("${goalseek.admission.max-limit:64}") int maxLimit,
+                                    @Value("${goalseek.admission.queue-size:8}") int queueSize,
+                                    @Value("${goalseek.admission.max-wait:50ms}") Duration maxWait,
+                                    @Value("${goalseek.admission.client-share:0.5}") double clientShare,
+                                    @Value("${goalseek.admission.window-size:20}") int windowSize,
+                                    MeterRegistry registry) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Admission limits must satisfy 1 <= min-limit <= max-limit");
+        }
+        this.adaptive = adaptive;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueSize = queueSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.clientShare = clientShare;
+        this.windowSize = Math.max(1, windowSize);
+        this.limit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+
+        admitted = requests(registry, OUTCOME_ADMITTED);
+        admittedAfterWait = requests(registry, OUTCOME_QUEUED);
+        rejected = requests(registry, OUTCOME_REJECTED);
+        timedOut = requests(registry, OUTCOME_TIMED_OUT);
+        clientLimited = requests(registry, OUTCOME_CLIENT_LIMITED);
+        waitTimer = Timer.builder("goalseek.admission.wait")
+                .description("Time admitted requests waited for a slot")
+                .register(registry);
+        Gauge.builder("goalseek.admission.limit", this, AdaptiveConcurrencyLimit::getLimit)
+                .description("Goal seek requests allowed in flight")
+                .register(registry);
+        Gauge.builder("goalseek.admission.in-flight", this, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Goal seek requests in flight")
+                .register(registry);
+        Gauge.builder("goalseek.admission.queued", this, AdaptiveConcurrencyLimit::getQueued)
+                .description("Goal seek requests waiting for a slot")
+                .register(registry);
+        Gauge.builder("goalseek.admission.utilization", this, AdaptiveConcurrencyLimit::getUtilization)
+                .description("Requests in flight and waiting, as a fraction of the limit")
+                .register(registry);
+    }
+
+    private static Counter requests(MeterRegistry registry, String outcome) {
+        return Counter.builder("goalseek.admission.requests")
+                .description("Goal seek requests by admission outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Admit a request, waiting briefly for a slot if the limit is reached. An admitted request
+     * must be {@link #release released} once it completes.
+     *
+     * @param client the fairness key of the caller
+     */
+    public Decision acquire(String client) {
+        lock.lock();
+        try {
+            boolean withinShare = clientInFlight.getOrDefault(client, 0) < clientLimit();
+            if (inFlight < (int) limit && (withinShare || queued == 0 && inFlight + 1 < (int) limit)) {
+                admit(client);
+                admitted.increment();
+                return Decision.ADMITTED;
+            }
+            if (!withinShare) {
+                clientLimited.increment();
+                return Decision.CLIENT_LIMITED;
+            }
+            if (queued >= queueSize) {
+                rejected.increment();
+                return Decision.OVERLOADED;
+            }
+
+            long start = System.nanoTime();
+            long remaining = maxWaitNanos;
+            queued++;
+            try {
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        timedOut.increment();
+                        return Decision.OVERLOADED;
+                    }
+                    remaining = slotFreed.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                timedOut.increment();
+                return Decision.OVERLOADED;
+            } finally {
+                queued--;
+            }
+            admit(client);
+            admittedAfterWait.increment();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Decision.ADMITTED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release the slot of an admitted request.
+     *
+     * @param latencyNanos how long the request took
+     * @param sample       whether the latency reflects load and should adapt the limit; false
+     *                     for requests that failed
+     */
+    public void release(String client, long latencyNanos, boolean sample) {
+        lock.lock();
+        try {
+            inFlight--;
+            clientInFlight.computeIfPresent(client, (key, count) -> count > 1 ? count - 1 : null);
+            int previousLimit = (int) limit;
+            if (adaptive && sample) {
+                update(latencyNanos);
+            }
+            if ((int) limit > previousLimit) {
+                slotFreed.signalAll();
+            } else {
+                slotFreed.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void admit(String client) {
+        inFlight++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        clientInFlight.merge(client, 1, Integer::sum);
+    }
+
+    /**
+     * Slots one client may hold before it is refused the last free slot and a place in the queue.
+     */
+    private int clientLimit() {
+        return Math.max(1, (int) Math.ceil(limit * clientShare));
+    }
+
+    private void update(long latencyNanos) {
+        windowRttSum += latencyNanos;
+        if (++windowSamples < windowSize) {
+            return;
+        }
+        double shortRtt = windowRttSum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = inFlight;
+
+        if (baselineRtt == 0 || shortRtt < baselineRtt) {
+            baselineRtt = shortRtt;
+        }
+        if (maxInFlight < limit / 2) {
+            // Latency without queueing, so a heavier mix of requests may raise the baseline
+            baselineRtt = Math.min(shortRtt, baselineRtt * BASELINE_DRIFT);
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * baselineRtt / shortRtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + estimate * SMOOTHING));
+    }
+
+    public double getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getUtilization() {
+        lock.lock();
+        try {
+            return (inFlight + queued) / Math.floor(limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.fintech.goalseek.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Admission control for the goal seek and evaluate requests, in front of the controller.
+ *
+ * <p>Each {@code POST} under {@code /api/goal-seek} takes a slot of the
+ * {@link AdaptiveConcurrencyLimit} for as long as it runs. When none is free within the short
+ * wait, the request is rejected before its body is read: {@code 503} when the server is overloaded,
+ * or {@code 429} when the client itself holds its share of the slots. Both carry a
+ * {@code Retry-After} header. Jobs and streams are not admitted here: the job pool and
+ * {@code goalseek.stream.max-in-flight} bound them already, and a stream lasts as long as its
+ * client keeps it open, so it would hold a slot of the small limit for just as long.
+ *
+ * <p>Clients are told apart by the {@code goalseek.admission.client-header} header, or by their
+ * remote address when it is absent.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String PATH_PREFIX = "/api/goal-seek";
+    private static final String JOBS_PREFIX = "/api/goal-seek/jobs";
+    private static final String STREAM_PREFIX = "/api/goal-seek/stream";
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final ObjectMapper objectMapper;
+    private final String clientHeader;
+    private final String retryAfterSeconds;
+
+    public AdmissionControlFilter(AdaptiveConcurrencyLimit limit, ObjectMapper objectMapper,
+                                  String clientHeader, long retryAfterSeconds) {
+        this.limit = limit;
+        this.objectMapper = objectMapper;
+        this.clientHeader = clientHeader;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfterSeconds));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !path.startsWith(PATH_PREFIX)
+                || path.startsWith(JOBS_PREFIX)
+                || path.startsWith(STREAM_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String client = client(request);
+        AdaptiveConcurrencyLimit.Decision decision = limit.acquire(client);
+        if (decision == AdaptiveConcurrencyLimit.Decision.CLIENT_LIMITED) {
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many concurrent requests from this client, try again later");
+            return;
+        }
+        if (decision == AdaptiveConcurrencyLimit.Decision.OVERLOADED) {
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Server is overloaded, try again later");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean sample = false;
+        try {
+            filterChain.doFilter(request, response);
+            // Invalid requests fail fast and say little about load
+            sample = response.getStatus() < 400;
+        } finally {
+            limit.release(client, System.nanoTime() - start, sample);
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private String client(HttpServletRequest request) {
+        String key = clientHeader.isEmpty() ? null : request.getHeader(clientHeader);
+        return key != null && !key.isBlank() ? key : request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        String message) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        ErrorResponses.write(objectMapper, request, response, status, message);
+    }
+}
@@ -0,0 +1,35 @@
+package com.fintech.goalseek.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.goalseek.dto.ErrorResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes the {@link ErrorResponse} of a request a filter rejects before it reaches a controller,
+ * in the same form as the exception handler.
+ */
+final class ErrorResponses {
+
+    private ErrorResponses() {
+    }
+
+    static void write(ObjectMapper objectMapper, HttpServletRequest request, HttpServletResponse response,
+                      HttpStatus status, String message) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .timestamp(LocalDateTime.now())
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
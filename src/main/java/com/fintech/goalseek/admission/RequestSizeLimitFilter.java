@@ -0,0 +1,143 @@
+package com.fintech.goalseek.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.goalseek.exception.RequestTooLargeException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Limit on the size of goal seek and evaluate request bodies, enforced before they are bound.
+ *
+ * <p>The row and item caps of the endpoints, such as {@code goalseek.evaluate.max-rows}, are
+ * checked once the whole body has been bound into arrays and objects; on their own they bound the
+ * work of a request but not the memory spent binding it. This filter rejects a body whose declared
+ * length exceeds {@code goalseek.request.max-body-size} with {@code 413} before it is read, and
+ * fails the read of a body without a declared length once it grows past the limit, which the
+ * exception handler also answers with {@code 413}. Streams are not limited here: they are read
+ * one bounded line at a time.
+ */
+public class RequestSizeLimitFilter extends OncePerRequestFilter {
+
+    private static final String PATH_PREFIX = "/api/goal-seek";
+    private static final String STREAM_PREFIX = "/api/goal-seek/stream";
+
+    private final ObjectMapper objectMapper;
+    private final long maxBodySize;
+
+    public RequestSizeLimitFilter(ObjectMapper objectMapper, long maxBodySize) {
+        this.objectMapper = objectMapper;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !path.startsWith(PATH_PREFIX)
+                || path.startsWith(STREAM_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long length = request.getContentLengthLong();
+        if (length > maxBodySize) {
+            ErrorResponses.write(objectMapper, request, response, HttpStatus.PAYLOAD_TOO_LARGE, message());
+            return;
+        }
+        // The container reads no more than a declared length, so only other bodies need counting
+        filterChain.doFilter(length >= 0 ? request : new LimitedRequest(request), response);
+    }
+
+    private String message() {
+        return "Request body exceeds the maximum of " + maxBodySize + " bytes";
+    }
+
+    private final class LimitedRequest extends HttpServletRequestWrapper {
+
+        private ServletInputStream in;
+
+        LimitedRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (in == null) {
+                in = new LimitedInputStream(super.getInputStream());
+            }
+            return in;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+
+    private final class LimitedInputStream extends ServletInputStream {
+
+        private final ServletInputStream in;
+        private long read;
+
+        LimitedInputStream(ServletInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = in.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            read += n;
+            if (read > maxBodySize) {
+                throw new RequestTooLargeException(message());
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return in.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return in.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            in.setReadListener(listener);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.fintech.goalseek.algorithm;
+
+import com.fintech.goalseek.algorithm.BracketSearch.Bracket;
+
+/**
+ * Builders of the {@link GoalSeekResult results} the algorithms return, so that every algorithm
+ * reports its evaluations, bracket search and budget the same way.
+ */
+final class AlgorithmResults {
+
+    private static final String BRACKET_NOT_FOUND = "Could not find bracketing interval";
+
+    private AlgorithmResults() {
+    }
+
+    /**
+     * Result of a bracketing algorithm whose bracket search gave up.
+     */
+    static GoalSeekResult bracketNotFound(String algorithm, Bracket bracket, CountingFunction counted,
+                                          SolveBudget budget) {
+        return bracketNotFound(algorithm, bracket, counted, budget, BRACKET_NOT_FOUND);
+    }
+
+    /**
+     * Result of a bracketing algorithm whose bracket search gave up, with its own message for
+     * when the budget did not run out.
+     */
+    static GoalSeekResult bracketNotFound(String algorithm, Bracket bracket, CountingFunction counted,
+                                          SolveBudget budget, String message) {
+        return GoalSeekResult.builder()
+                .converged(false)
+                .value(Double.NaN)
+                .achievedValue(Double.NaN)
+                .error(Double.POSITIVE_INFINITY)
+                .iterations(0)
+                .algorithm(algorithm)
+                .message(budget.isExhausted() ? budget.exhaustedMessage() : message)
+                .bracketExpansions(bracket.expansions())
+                .bracketEvaluations(bracket.evaluations())
+                .evaluations(counted.getCount())
+                .deadlineExceeded(budget.isExhausted())
+                .build();
+    }
+
+    /**
+     * Result at x of an algorithm that did not search for a bracket.
+     */
+    static GoalSeekResult result(String algorithm, boolean converged, double x, double fx, double error,
+                                 int iterations, String message, CountingFunction counted,
+                                 boolean deadlineExceeded) {
+        return result(algorithm, converged, x, fx, error, iterations, message, 0, 0, counted, deadlineExceeded);
+    }
+
+    /**
+     * Result at x, with fx the function's value there and error the distance from the target.
+     */
+    static GoalSeekResult result(String algorithm, boolean converged, double x, double fx, double error,
+                                 int iterations, String message, int expansions, int bracketEvaluations,
+                                 CountingFunction counted, boolean deadlineExceeded) {
+        return GoalSeekResult.builder()
+                .converged(converged)
+                .value(x)
+                .achievedValue(fx)
+                .error(error)
+                .iterations(iterations)
+                .algorithm(algorithm)
+                .message(message)
+                .bracketExpansions(expansions)
+                .bracketEvaluations(bracketEvaluations)
+                .evaluations(counted.getCount())
+                .deadlineExceeded(deadlineExceeded)
+                .build();
+    }
+}
@@ -1,9 +1,12 @@
 package com.fintech.goalseek.algorithm;
 
+import com.fintech.goalseek.algorithm.BracketSearch.Bracket;
 import org.springframework.stereotype.Component;
 
 import java.util.function.DoubleUnaryOperator;
 
+import static com.fintech.goalseek.algorithm.AlgorithmResults.bracketNotFound;
+
 /**
  * Bisection method for finding roots.
  * Reliable but slower convergence compared to Newton-Raphson.
@@ -12,37 +15,36 @@ import java.util.function.DoubleUnaryOperator;
 public class BisectionAlgorithm implements GoalSeekAlgorithm {
 
     @Override
-    public GoalSeekResult solve(DoubleUnaryOperator function, double target,
-                                 double lowerBound, double upperBound,
-                                 double tolerance, int maxIter) {
+    public GoalSeekResult solve(DoubleUnaryOperator function, DoubleUnaryOperator derivative,
+                                 double target, double lowerBound, double upperBound,
+                                 ConvergencePolicy convergence, int maxIter, SolveBudget budget) {
+        CountingFunction counted = new CountingFunction(function);
         
         // Transform to find root of g(x) = f(x) - target
-        DoubleUnaryOperator g = x -> function.applyAsDouble(x) - target;
+        DoubleUnaryOperator g = x -> counted.applyAsDouble(x) - target;
         
         double a = lowerBound;
         double b = upperBound;
         double fa = g.applyAsDouble(a);
         double fb = g.applyAsDouble(b);
         
+        int expansions = 0;
+        int bracketEvaluations = 0;
+
         // Check if bounds contain a root
         if (fa * fb > 0) {
             // Try to find better bounds by expanding search
-            double[] newBounds = findBracketingInterval(g, lowerBound, upperBound, maxIter / 4);
-            if (newBounds != null) {
-                a = newBounds[0];
-                b = newBounds[1];
+            Bracket bracket = BracketSearch.find(g, lowerBound, upperBound, Double.NaN, maxIter / 4, budget);
+            expansions = bracket.expansions();
+            bracketEvaluations = bracket.evaluations();
+            if (bracket.isFound()) {
+                a = bracket.lower();
+                b = bracket.upper();
                 fa = g.applyAsDouble(a);
                 fb = g.applyAsDouble(b);
             } else {
-                return GoalSeekResult.builder()
-                        .converged(false)
-                        .value(Double.NaN)
-                        .achievedValue(Double.NaN)
-                        .error(Double.POSITIVE_INFINITY)
-                        .iterations(0)
-                        .algorithm(getName())
-                        .message("Could not find bracketing interval. Function may not cross target in given range.")
-                        .build();
+                return bracketNotFound(getName(), bracket, counted, budget,
+                        "Could not find bracketing interval. Function may not cross target in given range.");
             }
         }
         
@@ -51,18 +53,54 @@ public class BisectionAlgorithm implements GoalSeekAlgorithm {
         double fc = fa;
         
         while (iterations < maxIter) {
+            if (budget.isExhausted()) {
+                return GoalSeekResult.builder()
+                        .converged(false)
+                        .value(c)
+                        .achievedValue(counted.applyAsDouble(c))
+                        .error(Math.abs(fc))
+                        .iterations(iterations)
+                        .algorithm(getName())
+                        .message(budget.exhaustedMessage())
+                        .bracketExpansions(expansions)
+                        .bracketEvaluations(bracketEvaluations)
+                        .deadlineExceeded(true)
+                        .evaluations(counted.getCount())
+                        .build();
+            }
+
             c = (a + b) / 2.0;
             fc = g.applyAsDouble(c);
             
-            if (Math.abs(fc) < tolerance || (b - a) / 2.0 < tolerance) {
+            if (convergence.isResidualConverged(Math.abs(fc), target) ||
+                convergence.isStepConverged((b - a) / 2.0, c)) {
                 return GoalSeekResult.builder()
                         .converged(true)
                         .value(c)
-                        .achievedValue(function.applyAsDouble(c))
+                        .achievedValue(counted.applyAsDouble(c))
                         .error(Math.abs(fc))
                         .iterations(iterations + 1)
                         .algorithm(getName())
                         .message("Converged successfully")
+                        .bracketExpansions(expansions)
+                        .bracketEvaluations(bracketEvaluations)
+                        .evaluations(counted.getCount())
+                        .build();
+            }
+
+            if (convergence.isStagnant(a, b)) {
+                // The bracket cannot be halved any further in floating point
+                return GoalSeekResult.builder()
+                        .converged(true)
+                        .value(c)
+                        .achievedValue(counted.applyAsDouble(c))
+                        .error(Math.abs(fc))
+                        .iterations(iterations + 1)
+                        .algorithm(getName())
+                        .message("Converged to machine precision")
+                        .bracketExpansions(expansions)
+                        .bracketEvaluations(bracketEvaluations)
+                        .evaluations(counted.getCount())
                         .build();
             }
             
@@ -78,44 +116,22 @@ public class BisectionAlgorithm implements GoalSeekAlgorithm {
         }
         
         return GoalSeekResult.builder()
-                .converged(Math.abs(fc) < tolerance * 100) // Consider near-converged
+                .converged(convergence.isNearlyConverged(Math.abs(fc), target)) // Consider near-converged
                 .value(c)
-                .achievedValue(function.applyAsDouble(c))
+                .achievedValue(counted.applyAsDouble(c))
                 .error(Math.abs(fc))
                 .iterations(iterations)
                 .algorithm(getName())
                 .message("Maximum iterations reached")
+                .bracketExpansions(expansions)
+                .bracketEvaluations(bracketEvaluations)
+                .evaluations(counted.getCount())
                 .build();
     }
 
-    /**
-     * Try to find an interval where the function changes sign.
-     */
-    private double[] findBracketingInterval(DoubleUnaryOperator g, double start, double end, int maxAttempts) {
-        double step = (end - start) / 10.0;
-        double a = start;
-        double fa = g.applyAsDouble(a);
-        
-        for (int i = 0; i < maxAttempts; i++) {
-            double b = a + step;
-            double fb = g.applyAsDouble(b);
-            
-            if (fa * fb < 0) {
-                return new double[]{a, b};
-            }
-            
-            a = b;
-            fa = fb;
-            
-            if (a > end) {
-                // Expand the search range
-                step *= 2;
-                a = start - step * i;
-                fa = g.applyAsDouble(a);
-            }
-        }
-        
-        return null;
+    @Override
+    public boolean isBracketing() {
+        return true;
     }
 
     @Override
@@ -0,0 +1,270 @@
+package com.fintech.goalseek.algorithm;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Search for an interval on which g changes sign, for bracketing root finders.
+ *
+ * <p>The search walks outward from a center point with geometrically growing steps, probing
+ * both sides in turn, so the bracket nearest the center is found first and roots close to
+ * the center are resolved finely however wide the bounds are. When the bounds straddle zero
+ * and the center is elsewhere, a second walk starts from zero, since rates and other small
+ * quantities sit there. Only then is the range widened beyond the bounds, again
+ * geometrically, so a distant root costs a logarithmic number of evaluations.
+ *
+ * <p>A bracket is a sign change between two probes where g is finite, not a proof of a root: a
+ * pole such as that of {@code 1/(x - c)} changes sign as well, with finite values on either side,
+ * and is bracketed like a root. Solvers then converge towards the pole, where |g| grows instead of
+ * shrinking, and the error of their result shows it. A probe where g is NaN is never a sign
+ * change. The search stops when the budget runs out.
+ *
+ * <p>Given a {@link SignBound}, a probe whose segment provably keeps one sign is not evaluated;
+ * the proven sign stands in for its value. When the sign is proven over the whole range the
+ * walks are skipped and the search goes straight to widening it.
+ */
+public final class BracketSearch {
+
+    /**
+     * Name reported for a goal seek that ended because no bracket was found, before any
+     * algorithm ran.
+     */
+    public static final String NAME = "Bracket search";
+
+    /**
+     * The first step of a walk is the half-width of the range scaled by 2^-STEPS_PER_WALK;
+     * each later step doubles, so a walk reaches the bounds after about this many probes per side.
+     */
+    private static final int STEPS_PER_WALK = 40;
+
+    private BracketSearch() {
+    }
+
+    /**
+     * Find a sign change of g in or around [lowerBound, upperBound].
+     *
+     * @param center        where to start walking, or NaN for the middle of the range
+     * @param maxExpansions how many times the range may be widened beyond the bounds
+     * @return the bracket, which is {@link Bracket#isFound() not found} if the search gave up
+     */
+    public static Bracket find(DoubleUnaryOperator g, double lowerBound, double upperBound, double center,
+                               int maxExpansions, SolveBudget budget) {
+        return find(g, SignBound.NONE, lowerBound, upperBound, center, maxExpansions, budget);
+    }
+
+    /**
+     * Find a sign change of g in or around [lowerBound, upperBound], skipping the segments
+     * on which the sign bound proves g keeps one sign.
+     */
+    public static Bracket find(DoubleUnaryOperator g, SignBound sign, double lowerBound, double upperBound,
+                               double center, int maxExpansions, SolveBudget budget) {
+        Search search = new Search(g, sign, budget);
+        int rangeSign = sign.signOver(lowerBound, upperBound);
+        double fLower = rangeSign != 0 ? rangeSign : search.evaluate(lowerBound);
+        double fUpper = rangeSign != 0 ? rangeSign : search.evaluate(upperBound);
+        if (changesSign(fLower, fUpper)) {
+            return search.found(lowerBound, upperBound);
+        }
+
+        if (!(center > lowerBound && center < upperBound)) {
+            center = lowerBound + (upperBound - lowerBound) / 2;
+        }
+        Bracket bracket = null;
+        if (rangeSign == 0) {
+            bracket = search.walk(center, lowerBound, upperBound);
+            if (bracket == null && lowerBound < 0 && upperBound > 0 && center != 0) {
+                bracket = search.walk(0, lowerBound, upperBound);
+            }
+        }
+        if (bracket == null) {
+            bracket = search.expand(lowerBound, fLower, upperBound, fUpper, rangeSign != 0,
+                    Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, maxExpansions);
+        }
+        return bracket != null ? bracket : search.notFound();
+    }
+
+    /**
+     * Find a sign change of g near a point where the root is expected, such as the solution of
+     * a similar earlier problem. Starts from [center - radius, center + radius] and widens it
+     * geometrically; there is no walk, since the root should be close. The interval is kept
+     * within [lowerBound, upperBound], so the bracket never leaves the range {@link #find}
+     * would search first, and a root outside it cannot be preferred to one inside.
+     *
+     * @param maxExpansions how many times the range may be widened; keep it small, so that a
+     *                      wrong guess costs little before falling back to {@link #find}
+     */
+    public static Bracket around(DoubleUnaryOperator g, SignBound sign, double center, double radius,
+                                 double lowerBound, double upperBound, int maxExpansions, SolveBudget budget) {
+        Search search = new Search(g, sign, budget);
+        double lower = Math.max(center - radius, lowerBound);
+        double upper = Math.min(center + radius, upperBound);
+        double fLower = search.evaluate(lower);
+        double fUpper = search.evaluate(upper);
+        if (changesSign(fLower, fUpper)) {
+            return search.found(lower, upper);
+        }
+        Bracket bracket = search.expand(lower, fLower, upper, fUpper, false, lowerBound, upperBound, maxExpansions);
+        return bracket != null ? bracket : search.notFound();
+    }
+
+    /**
+     * Whether g has a root between two points with values previous and next, or at next itself.
+     */
+    private static boolean changesSign(double previous, double next) {
+        return next == 0 || Math.signum(previous) * Math.signum(next) < 0;
+    }
+
+    /**
+     * A bracket, or the cost of failing to find one.
+     *
+     * @param lower       lower end, NaN if not found
+     * @param upper       upper end, NaN if not found
+     * @param expansions  times the range was widened beyond the bounds
+     * @param evaluations evaluations of g spent searching
+     */
+    public record Bracket(double lower, double upper, int expansions, int evaluations) {
+
+        public boolean isFound() {
+            return !Double.isNaN(lower);
+        }
+    }
+
+    private static final class Search {
+
+        private final DoubleUnaryOperator g;
+        private final SignBound sign;
+        private final SolveBudget budget;
+        private int evaluations;
+        private int expansions;
+        private boolean lastProven;
+
+        Search(DoubleUnaryOperator g, SignBound sign, SolveBudget budget) {
+            this.g = g;
+            this.sign = sign;
+            this.budget = budget;
+        }
+
+        double evaluate(double x) {
+            evaluations++;
+            return g.applyAsDouble(x);
+        }
+
+        /**
+         * The value of g at x, reached from the probe at from; the proven sign of g on the
+         * segment between them stands in for the value if there is one.
+         */
+        double probe(double from, double x) {
+            int proven = sign.signOver(Math.min(from, x), Math.max(from, x));
+            lastProven = proven != 0;
+            return lastProven ? proven : evaluate(x);
+        }
+
+        /**
+         * Whether g changes sign between two probes. A proven sign only holds where g is defined,
+         * so the ends that stood in for a value are evaluated before the bracket is accepted.
+         */
+        boolean brackets(double a, double fa, boolean aProven, double b, double fb, boolean bProven) {
+            if (!changesSign(fa, fb)) {
+                return false;
+            }
+            return !(aProven || bProven)
+                    || changesSign(aProven ? evaluate(a) : fa, bProven ? evaluate(b) : fb);
+        }
+
+        Bracket found(double a, double b) {
+            return new Bracket(Math.min(a, b), Math.max(a, b), expansions, evaluations);
+        }
+
+        Bracket notFound() {
+            return new Bracket(Double.NaN, Double.NaN, expansions, evaluations);
+        }
+
+        /**
+         * Walk from center to both bounds with doubling steps.
+         */
+        Bracket walk(double center, double lowerBound, double upperBound) {
+            double fCenter = evaluate(center);
+            double step = Math.max(Math.scalb(Math.max(center - lowerBound, upperBound - center), -STEPS_PER_WALK),
+                    Math.ulp(center));
+
+            double left = center;
+            double fLeft = fCenter;
+            boolean leftProven = false;
+            double right = center;
+            double fRight = fCenter;
+            boolean rightProven = false;
+            boolean leftOpen = center > lowerBound;
+            boolean rightOpen = center < upperBound;
+            while ((leftOpen || rightOpen) && !budget.isExhausted()) {
+                if (rightOpen) {
+                    double x = Math.min(center + step, upperBound);
+                    double fx = probe(right, x);
+                    if (brackets(right, fRight, rightProven, x, fx, lastProven)) {
+                        return found(right, x);
+                    }
+                    right = x;
+                    fRight = fx;
+                    rightProven = lastProven;
+                    rightOpen = x < upperBound;
+                }
+                if (leftOpen) {
+                    double x = Math.max(center - step, lowerBound);
+                    double fx = probe(left, x);
+                    if (brackets(left, fLeft, leftProven, x, fx, lastProven)) {
+                        return found(x, left);
+                    }
+                    left = x;
+                    fLeft = fx;
+                    leftProven = lastProven;
+                    leftOpen = x > lowerBound;
+                }
+                step *= 2;
+            }
+            return null;
+        }
+
+        /**
+         * Widen the range beyond the bounds, doubling the distance on each side every time, but
+         * not past [minX, maxX]. A side that reaches its limit stays there.
+         */
+        Bracket expand(double lowerBound, double fLower, double upperBound, double fUpper, boolean boundsProven,
+                       double minX, double maxX, int maxExpansions) {
+            double width = upperBound - lowerBound;
+            double left = lowerBound;
+            double fLeft = fLower;
+            boolean leftProven = boundsProven;
+            double right = upperBound;
+            double fRight = fUpper;
+            boolean rightProven = boundsProven;
+            for (int i = 1; i <= maxExpansions && (left > minX || right < maxX) && !budget.isExhausted(); i++) {
+                double reach = width * (Math.scalb(1.0, i) - 1);
+                double x = Math.min(upperBound + reach, maxX);
+                double y = Math.max(lowerBound - reach, minX);
+                if (!Double.isFinite(x) || !Double.isFinite(y)) {
+                    break;
+                }
+                expansions = i;
+
+                if (right < maxX) {
+                    double fx = probe(right, x);
+                    if (brackets(right, fRight, rightProven, x, fx, lastProven)) {
+                        return found(right, x);
+                    }
+                    right = x;
+                    fRight = fx;
+                    rightProven = lastProven;
+                }
+
+                if (left > minX) {
+                    double fy = probe(left, y);
+                    if (brackets(left, fLeft, leftProven, y, fy, lastProven)) {
+                        return found(y, left);
+                    }
+                    left = y;
+                    fLeft = fy;
+                    leftProven = lastProven;
+                }
+            }
+            return null;
+        }
+    }
+}
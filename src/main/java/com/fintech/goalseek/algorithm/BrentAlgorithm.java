@@ -1,9 +1,12 @@
 package com.fintech.goalseek.algorithm;
 
+import com.fintech.goalseek.algorithm.BracketSearch.Bracket;
 import org.springframework.stereotype.Component;
 
 import java.util.function.DoubleUnaryOperator;
 
+import static com.fintech.goalseek.algorithm.AlgorithmResults.bracketNotFound;
+
 /**
  * Brent's method for finding roots.
  * Combines bisection, secant, and inverse quadratic interpolation.
@@ -13,37 +16,35 @@ import java.util.function.DoubleUnaryOperator;
 public class  BrentAlgorithm implements GoalSeekAlgorithm {
 
     @Override
-    public GoalSeekResult solve(DoubleUnaryOperator function, double target,
-                                 double lowerBound, double upperBound,
-                                 double tolerance, int maxIter) {
+    public GoalSeekResult solve(DoubleUnaryOperator function, DoubleUnaryOperator derivative,
+                                 double target, double lowerBound, double upperBound,
+                                 ConvergencePolicy convergence, int maxIter, SolveBudget budget) {
+        CountingFunction counted = new CountingFunction(function);
         
         // Transform to find root of g(x) = f(x) - target
-        DoubleUnaryOperator g = x -> function.applyAsDouble(x) - target;
+        DoubleUnaryOperator g = x -> counted.applyAsDouble(x) - target;
         
         double a = lowerBound;
         double b = upperBound;
         double fa = g.applyAsDouble(a);
         double fb = g.applyAsDouble(b);
         
+        int expansions = 0;
+        int bracketEvaluations = 0;
+
         // Check if bounds contain a root
         if (fa * fb > 0) {
             // Try to find better bounds
-            double[] newBounds = findBracketingInterval(g, lowerBound, upperBound, maxIter / 4);
-            if (newBounds != null) {
-                a = newBounds[0];
-                b = newBounds[1];
+            Bracket bracket = BracketSearch.find(g, lowerBound, upperBound, Double.NaN, maxIter / 4, budget);
+            expansions = bracket.expansions();
+            bracketEvaluations = bracket.evaluations();
+            if (bracket.isFound()) {
+                a = bracket.lower();
+                b = bracket.upper();
                 fa = g.applyAsDouble(a);
                 fb = g.applyAsDouble(b);
             } else {
-                return GoalSeekResult.builder()
-                        .converged(false)
-                        .value(Double.NaN)
-                        .achievedValue(Double.NaN)
-                        .error(Double.POSITIVE_INFINITY)
-                        .iterations(0)
-                        .algorithm(getName())
-                        .message("Could not find bracketing interval")
-                        .build();
+                return bracketNotFound(getName(), bracket, counted, budget);
             }
         }
         
@@ -62,27 +63,66 @@ public class  BrentAlgorithm implements GoalSeekAlgorithm {
         int iterations = 0;
         
         while (iterations < maxIter) {
-            if (Math.abs(fb) < tolerance) {
+            if (convergence.isResidualConverged(Math.abs(fb), target)) {
                 return GoalSeekResult.builder()
                         .converged(true)
                         .value(b)
-                        .achievedValue(function.applyAsDouble(b))
+                        .achievedValue(counted.applyAsDouble(b))
                         .error(Math.abs(fb))
                         .iterations(iterations)
                         .algorithm(getName())
                         .message("Converged successfully")
+                        .bracketExpansions(expansions)
+                        .bracketEvaluations(bracketEvaluations)
+                        .evaluations(counted.getCount())
                         .build();
             }
             
-            if (Math.abs(b - a) < tolerance) {
+            if (convergence.isStepConverged(Math.abs(b - a), b)) {
                 return GoalSeekResult.builder()
                         .converged(true)
                         .value(b)
-                        .achievedValue(function.applyAsDouble(b))
+                        .achievedValue(counted.applyAsDouble(b))
                         .error(Math.abs(fb))
                         .iterations(iterations)
                         .algorithm(getName())
                         .message("Converged successfully")
+                        .bracketExpansions(expansions)
+                        .bracketEvaluations(bracketEvaluations)
+                        .evaluations(counted.getCount())
+                        .build();
+            }
+
+            if (convergence.isStagnant(b, a)) {
+                // The bracket has collapsed to adjacent floating point values
+                return GoalSeekResult.builder()
+                        .converged(true)
+                        .value(b)
+                        .achievedValue(counted.applyAsDouble(b))
+                        .error(Math.abs(fb))
+                        .iterations(iterations)
+                        .algorithm(getName())
+                        .message("Converged to machine precision")
+                        .bracketExpansions(expansions)
+                        .bracketEvaluations(bracketEvaluations)
+                        .evaluations(counted.getCount())
+                        .build();
+            }
+
+            if (budget.isExhausted()) {
+                // b is the best estimate so far, since |f(b)| <= |f(a)|
+                return GoalSeekResult.builder()
+                        .converged(false)
+                        .value(b)
+                        .achievedValue(counted.applyAsDouble(b))
+                        .error(Math.abs(fb))
+                        .iterations(iterations)
+                        .algorithm(getName())
+                        .message(budget.exhaustedMessage())
+                        .bracketExpansions(expansions)
+                        .bracketEvaluations(bracketEvaluations)
+                        .deadlineExceeded(true)
+                        .evaluations(counted.getCount())
                         .build();
             }
             
@@ -100,8 +140,8 @@ public class  BrentAlgorithm implements GoalSeekAlgorithm {
             boolean condition1 = !((s > (3 * a + b) / 4 && s < b) || (s < (3 * a + b) / 4 && s > b));
             boolean condition2 = mflag && Math.abs(s - b) >= Math.abs(b - c) / 2;
             boolean condition3 = !mflag && Math.abs(s - b) >= Math.abs(c - d) / 2;
-            boolean condition4 = mflag && Math.abs(b - c) < tolerance;
-            boolean condition5 = !mflag && Math.abs(c - d) < tolerance;
+            boolean condition4 = mflag && convergence.isStepConverged(Math.abs(b - c), b);
+            boolean condition5 = !mflag && convergence.isStepConverged(Math.abs(c - d), b);
             
             if (condition1 || condition2 || condition3 || condition4 || condition5) {
                 // Bisection
@@ -134,58 +174,22 @@ public class  BrentAlgorithm implements GoalSeekAlgorithm {
         }
         
         return GoalSeekResult.builder()
-                .converged(Math.abs(fb) < tolerance * 100)
+                .converged(convergence.isNearlyConverged(Math.abs(fb), target))
                 .value(b)
-                .achievedValue(function.applyAsDouble(b))
+                .achievedValue(counted.applyAsDouble(b))
                 .error(Math.abs(fb))
                 .iterations(iterations)
                 .algorithm(getName())
                 .message("Maximum iterations reached")
+                .bracketExpansions(expansions)
+                .bracketEvaluations(bracketEvaluations)
+                .evaluations(counted.getCount())
                 .build();
     }
 
-    private double[] findBracketingInterval(DoubleUnaryOperator g, double start, double end, int maxAttempts) {
-        int numPoints = 50;
-        double step = (end - start) / numPoints;
-        
-        double prevX = start;
-        double prevFx = g.applyAsDouble(prevX);
-        
-        for (int i = 1; i <= numPoints; i++) {
-            double x = start + i * step;
-            double fx = g.applyAsDouble(x);
-            
-            if (prevFx * fx < 0) {
-                return new double[]{prevX, x};
-            }
-            
-            prevX = x;
-            prevFx = fx;
-        }
-        
-        // Try expanding range
-        for (int i = 1; i <= maxAttempts; i++) {
-            double expandedStart = start - i * (end - start);
-            double expandedEnd = end + i * (end - start);
-            step = (expandedEnd - expandedStart) / numPoints;
-            
-            prevX = expandedStart;
-            prevFx = g.applyAsDouble(prevX);
-            
-            for (int j = 1; j <= numPoints; j++) {
-                double x = expandedStart + j * step;
-                double fx = g.applyAsDouble(x);
-                
-                if (prevFx * fx < 0) {
-                    return new double[]{prevX, x};
-                }
-                
-                prevX = x;
-                prevFx = fx;
-            }
-        }
-        
-        return null;
+    @Override
+    public boolean isBracketing() {
+        return true;
     }
 
     @Override
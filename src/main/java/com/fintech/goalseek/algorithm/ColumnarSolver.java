@@ -0,0 +1,540 @@
+package com.fintech.goalseek.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Solves many goal seeks of one formula and seek variable at once, for rows that differ only
+ * in their known values and target.
+ *
+ * <p>Every row runs the same search as a single goal seek: the bracket search of
+ * {@link BracketSearch} followed by Brent's method as in {@link BrentAlgorithm}. The rows advance
+ * in lockstep: on each step every active row proposes one point, all points are evaluated with a
+ * single call over the columns, and every row takes its own next step from its own value. The
+ * state of the rows is held as one array per quantity, so a step is a few loops over primitive
+ * arrays rather than an object per row.
+ *
+ * <p>Rows that have converged or given up stay in the arrays and are evaluated with the others
+ * until fewer than half of them are active; then the active rows are compacted, so the work
+ * spent on finished rows is at most that spent on active ones.
+ *
+ * <p>Since the bounds are shared, so are the probes of the bracket search: rows whose root lies
+ * within the bounds are bracketed on the second step. The walk from the center stops short of the
+ * bounds and compares its last probe on each side with the value already known at that bound.
+ * The budget is checked once per step, and every step charges it one evaluation per active row,
+ * so a step may overrun an evaluation budget by at most the number of rows.
+ */
+public final class ColumnarSolver {
+
+    public static final String NAME = "Columnar Brent";
+
+    /**
+     * As in {@link BracketSearch}: the first step of the walk from the center is the half-width of
+     * the range scaled by 2^-STEPS_PER_WALK, and each later step doubles.
+     */
+    private static final int STEPS_PER_WALK = 40;
+
+    private static final int BRENT = -1;
+    private static final int DONE = -2;
+
+    private ColumnarSolver() {
+    }
+
+    /**
+     * The function whose roots are sought, g(x) = f(x) - target, over the active rows.
+     * Rows are addressed by position, which starts as the row index and changes when
+     * the active rows are compacted.
+     */
+    public interface ColumnFunction {
+
+        /**
+         * Evaluate g at {@code x[i]} for the row at position i, into {@code results[i]}.
+         * Both arrays have one entry per position. A row that cannot be evaluated is NaN.
+         */
+        void evaluate(double[] x, double[] results);
+
+        /**
+         * Keep only the rows at the given positions, which are ascending; the row at
+         * {@code positions[i]} moves to position i and there are {@code count} positions from now on.
+         */
+        void retain(int[] positions, int count);
+    }
+
+    /**
+     * Per-row results, indexed by row.
+     *
+     * @param values           the solution, or NaN where no bracket was found
+     * @param residuals        g at the solution, i.e. f(value) - target
+     * @param iterations       Brent iterations after the bracket was found
+     * @param converged        whether the row converged
+     * @param bracketed        whether a bracket was found for the row
+     * @param steps            lockstep steps taken
+     * @param evaluations      evaluations of g for active rows; finished rows that are evaluated until
+     *                         they are compacted away are not counted
+     * @param deadlineExceeded whether the budget ran out before every row finished
+     */
+    public record Result(double[] values, double[] residuals, int[] iterations, boolean[] converged,
+                         boolean[] bracketed, int steps, long evaluations, boolean deadlineExceeded) {
+    }
+
+    /**
+     * Solve g(x) = 0 for every row.
+     *
+     * @param targets       the target of each row, for convergence criteria relative to it
+     * @param center        where the bracket search starts walking, or NaN for the middle of the bounds
+     * @param maxExpansions how many times the range may be widened beyond the bounds
+     * @param maxIterations Brent iterations allowed per row
+     */
+    public static Result solve(ColumnFunction g, double[] targets, double lowerBound, double upperBound,
+                               double center, int maxExpansions, int maxIterations,
+                               ConvergencePolicy convergence, SolveBudget budget) {
+        Probe[] schedule = schedule(lowerBound, upperBound, center, maxExpansions);
+        return new Lockstep(g, targets, lowerBound, upperBound, schedule, maxIterations, convergence).run(budget);
+    }
+
+    private enum Kind {
+        LOWER, UPPER, CENTER, RIGHT, LEFT
+    }
+
+    /**
+     * A point of the bracket search. A {@link Kind#RIGHT} or {@link Kind#LEFT} probe brackets a root
+     * if g changes sign between it and the previous probe on its side, at {@code from}. The last
+     * probe of the walk on a side also brackets a root if g changes sign between it and that bound.
+     */
+    private record Probe(Kind kind, double x, double from, boolean closesRight, boolean closesLeft) {
+
+        Probe(Kind kind, double x, double from) {
+            this(kind, x, from, false, false);
+        }
+
+        Probe closingRight() {
+            return new Probe(kind, x, from, true, closesLeft);
+        }
+
+        Probe closingLeft() {
+            return new Probe(kind, x, from, closesRight, true);
+        }
+    }
+
+    /**
+     * The probes of {@link BracketSearch#find} without a sign bound, which are the same for every row:
+     * the bounds, a walk from the center towards the bounds, then widenings of the range. The walk
+     * does not probe the bounds again, since they were the first two probes.
+     */
+    private static Probe[] schedule(double lowerBound, double upperBound, double center, int maxExpansions) {
+        List<Probe> probes = new ArrayList<>();
+        probes.add(new Probe(Kind.LOWER, lowerBound, lowerBound));
+        probes.add(new Probe(Kind.UPPER, upperBound, lowerBound));
+
+        if (!(center > lowerBound && center < upperBound)) {
+            center = lowerBound + (upperBound - lowerBound) / 2;
+        }
+        if (center > lowerBound && center < upperBound) {
+            probes.add(new Probe(Kind.CENTER, center, center));
+            double step = Math.max(Math.scalb(Math.max(center - lowerBound, upperBound - center), -STEPS_PER_WALK),
+                    Math.ulp(center));
+            int lastRight = probes.size() - 1;
+            int lastLeft = lastRight;
+            boolean rightOpen = true;
+            boolean leftOpen = true;
+            while (rightOpen || leftOpen) {
+                if (rightOpen) {
+                    double x = center + step;
+                    rightOpen = x < upperBound;
+                    if (rightOpen) {
+                        probes.add(new Probe(Kind.RIGHT, x, probes.get(lastRight).x()));
+                        lastRight = probes.size() - 1;
+                    }
+                }
+                if (leftOpen) {
+                    double x = center - step;
+                    leftOpen = x > lowerBound;
+                    if (leftOpen) {
+                        probes.add(new Probe(Kind.LEFT, x, probes.get(lastLeft).x()));
+                        lastLeft = probes.size() - 1;
+                    }
+                }
+                step *= 2;
+            }
+            probes.set(lastRight, probes.get(lastRight).closingRight());
+            probes.set(lastLeft, probes.get(lastLeft).closingLeft());
+        }
+
+        // The walk closes on the bounds, so the widenings continue both sides from there
+        double width = upperBound - lowerBound;
+        for (int i = 1; i <= maxExpansions; i++) {
+            double reach = width * (Math.scalb(1.0, i) - 1);
+            double x = upperBound + reach;
+            double y = lowerBound - reach;
+            if (!Double.isFinite(x) || !Double.isFinite(y)) {
+                break;
+            }
+            double previousReach = width * (Math.scalb(1.0, i - 1) - 1);
+            probes.add(new Probe(Kind.RIGHT, x, upperBound + previousReach));
+            probes.add(new Probe(Kind.LEFT, y, lowerBound - previousReach));
+        }
+        return probes.toArray(new Probe[0]);
+    }
+
+    private static boolean changesSign(double previous, double next) {
+        return next == 0 || Math.signum(previous) * Math.signum(next) < 0;
+    }
+
+    /**
+     * The state of all rows, one array per quantity indexed by position.
+     */
+    private static final class Lockstep {
+
+        private final ColumnFunction g;
+        private final double[] targets;
+        private final double lowerBound;
+        private final double upperBound;
+        private final Probe[] schedule;
+        private final int maxIterations;
+        private final ConvergencePolicy convergence;
+
+        private final double[] values;
+        private final double[] residuals;
+        private final int[] iterations;
+        private final boolean[] converged;
+        private final boolean[] bracketed;
+
+        /** Row of each position. */
+        private int[] rows;
+        /** Next probe of the bracket search, or BRENT, or DONE. */
+        private int[] state;
+        private double[] x;
+        private double[] fx;
+
+        // Bracket search: g at the bounds and at the last probe on each side
+        private double[] fLower;
+        private double[] fUpper;
+        private double[] fLeft;
+        private double[] fRight;
+
+        // Brent's method, named as in BrentAlgorithm
+        private double[] a;
+        private double[] b;
+        private double[] c;
+        private double[] d;
+        private double[] fa;
+        private double[] fb;
+        private double[] fc;
+        private boolean[] mflag;
+
+        private int steps;
+        private long evaluations;
+
+        Lockstep(ColumnFunction g, double[] targets, double lowerBound, double upperBound, Probe[] schedule,
+                 int maxIterations, ConvergencePolicy convergence) {
+            this.g = g;
+            this.targets = targets;
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+            this.schedule = schedule;
+            this.maxIterations = maxIterations;
+            this.convergence = convergence;
+
+            int n = targets.length;
+            values = new double[n];
+            residuals = new double[n];
+            iterations = new int[n];
+            converged = new boolean[n];
+            bracketed = new boolean[n];
+            Arrays.fill(values, Double.NaN);
+            Arrays.fill(residuals, Double.NaN);
+
+            rows = new int[n];
+            for (int i = 0; i < n; i++) {
+                rows[i] = i;
+            }
+            state = new int[n];
+            x = new double[n];
+            fx = new double[n];
+            fLower = new double[n];
+            fUpper = new double[n];
+            fLeft = new double[n];
+            fRight = new double[n];
+            a = new double[n];
+            b = new double[n];
+            c = new double[n];
+            d = new double[n];
+            fa = new double[n];
+            fb = new double[n];
+            fc = new double[n];
+            mflag = new boolean[n];
+        }
+
+        Result run(SolveBudget budget) {
+            boolean deadlineExceeded = false;
+            while (true) {
+                int proposed = 0;
+                for (int p = 0; p < rows.length; p++) {
+                    if (state[p] != DONE && propose(p)) {
+                        proposed++;
+                    }
+                }
+                if (proposed == 0) {
+                    break;
+                }
+                if (budget.isExhausted()) {
+                    deadlineExceeded = true;
+                    for (int p = 0; p < rows.length; p++) {
+                        if (state[p] == BRENT) {
+                            finish(p, b[p], fb[p], false);
+                        }
+                    }
+                    break;
+                }
+
+                g.evaluate(x, fx);
+                steps++;
+                evaluations += proposed;
+                budget.charge(proposed);
+
+                int active = 0;
+                for (int p = 0; p < rows.length; p++) {
+                    if (state[p] == BRENT) {
+                        advance(p);
+                    } else if (state[p] >= 0) {
+                        probe(p);
+                    }
+                    if (state[p] != DONE) {
+                        active++;
+                    }
+                }
+                if (active < rows.length / 2) {
+                    compact(active);
+                }
+            }
+            return new Result(values, residuals, iterations, converged, bracketed, steps, evaluations,
+                    deadlineExceeded);
+        }
+
+        /**
+         * Set the next point of a row, or finish it.
+         *
+         * @return whether the row needs the point evaluated
+         */
+        private boolean propose(int p) {
+            if (state[p] >= 0) {
+                x[p] = schedule[state[p]].x();
+                return true;
+            }
+
+            // Brent's method, one iteration of BrentAlgorithm's loop up to its evaluation
+            int row = rows[p];
+            double target = targets[row];
+            double absFb = Math.abs(fb[p]);
+            if (iterations[row] >= maxIterations) {
+                finish(p, b[p], fb[p], convergence.isNearlyConverged(absFb, target));
+                return false;
+            }
+            if (convergence.isResidualConverged(absFb, target)
+                    || convergence.isStepConverged(Math.abs(b[p] - a[p]), b[p])
+                    || convergence.isStagnant(b[p], a[p])) {
+                finish(p, b[p], fb[p], true);
+                return false;
+            }
+
+            double s;
+            if (fa[p] != fc[p] && fb[p] != fc[p]) {
+                // Inverse quadratic interpolation
+                s = a[p] * fb[p] * fc[p] / ((fa[p] - fb[p]) * (fa[p] - fc[p]))
+                  + b[p] * fa[p] * fc[p] / ((fb[p] - fa[p]) * (fb[p] - fc[p]))
+                  + c[p] * fa[p] * fb[p] / ((fc[p] - fa[p]) * (fc[p] - fb[p]));
+            } else {
+                // Secant method
+                s = b[p] - fb[p] * (b[p] - a[p]) / (fb[p] - fa[p]);
+            }
+
+            double quarter = (3 * a[p] + b[p]) / 4;
+            boolean outside = !((s > quarter && s < b[p]) || (s < quarter && s > b[p]));
+            boolean slow = mflag[p]
+                    ? Math.abs(s - b[p]) >= Math.abs(b[p] - c[p]) / 2
+                            || convergence.isStepConverged(Math.abs(b[p] - c[p]), b[p])
+                    : Math.abs(s - b[p]) >= Math.abs(c[p] - d[p]) / 2
+                            || convergence.isStepConverged(Math.abs(c[p] - d[p]), b[p]);
+            if (outside || slow) {
+                // Bisection
+                s = (a[p] + b[p]) / 2;
+                mflag[p] = true;
+            } else {
+                mflag[p] = false;
+            }
+            x[p] = s;
+            return true;
+        }
+
+        /**
+         * Take the value of a Brent point.
+         */
+        private void advance(int p) {
+            double s = x[p];
+            double fs = fx[p];
+            d[p] = c[p];
+            c[p] = b[p];
+            fc[p] = fb[p];
+            if (fa[p] * fs < 0) {
+                b[p] = s;
+                fb[p] = fs;
+            } else {
+                a[p] = s;
+                fa[p] = fs;
+            }
+            orient(p);
+            iterations[rows[p]]++;
+        }
+
+        /**
+         * Take the value of a bracket search probe.
+         */
+        private void probe(int p) {
+            Probe probe = schedule[state[p]];
+            double value = fx[p];
+            if (value == 0) {
+                bracketed[rows[p]] = true;
+                finish(p, probe.x(), 0, true);
+                return;
+            }
+            switch (probe.kind()) {
+                case LOWER -> {
+                    fLower[p] = value;
+                    fLeft[p] = value;
+                }
+                case UPPER -> {
+                    fUpper[p] = value;
+                    fRight[p] = value;
+                    if (changesSign(fLower[p], value)) {
+                        bracket(p, probe.from(), fLower[p], probe.x(), value);
+                        return;
+                    }
+                }
+                case CENTER -> {
+                    fLeft[p] = value;
+                    fRight[p] = value;
+                }
+                case RIGHT -> {
+                    if (changesSign(fRight[p], value)) {
+                        bracket(p, probe.from(), fRight[p], probe.x(), value);
+                        return;
+                    }
+                    fRight[p] = value;
+                }
+                case LEFT -> {
+                    if (changesSign(fLeft[p], value)) {
+                        bracket(p, probe.x(), value, probe.from(), fLeft[p]);
+                        return;
+                    }
+                    fLeft[p] = value;
+                }
+            }
+            if (probe.closesRight()) {
+                if (changesSign(fRight[p], fUpper[p])) {
+                    bracket(p, probe.x(), fRight[p], upperBound, fUpper[p]);
+                    return;
+                }
+                fRight[p] = fUpper[p];
+            }
+            if (probe.closesLeft()) {
+                if (changesSign(fLeft[p], fLower[p])) {
+                    bracket(p, lowerBound, fLower[p], probe.x(), fLeft[p]);
+                    return;
+                }
+                fLeft[p] = fLower[p];
+            }
+            if (++state[p] == schedule.length) {
+                state[p] = DONE;
+            }
+        }
+
+        /**
+         * Start Brent's method on a bracket, with the values of g at its ends already known.
+         */
+        private void bracket(int p, double lower, double fLowerEnd, double upper, double fUpperEnd) {
+            bracketed[rows[p]] = true;
+            state[p] = BRENT;
+            a[p] = lower;
+            fa[p] = fLowerEnd;
+            b[p] = upper;
+            fb[p] = fUpperEnd;
+            orient(p);
+            c[p] = a[p];
+            fc[p] = fa[p];
+            d[p] = 0;
+            mflag[p] = true;
+        }
+
+        /**
+         * Ensure |f(a)| >= |f(b)|.
+         */
+        private void orient(int p) {
+            if (Math.abs(fa[p]) < Math.abs(fb[p])) {
+                double temp = a[p]; a[p] = b[p]; b[p] = temp;
+                temp = fa[p]; fa[p] = fb[p]; fb[p] = temp;
+            }
+        }
+
+        private void finish(int p, double value, double residual, boolean isConverged) {
+            int row = rows[p];
+            values[row] = value;
+            residuals[row] = residual;
+            converged[row] = isConverged;
+            state[p] = DONE;
+        }
+
+        /**
+         * Drop the finished rows, moving the active ones to the front in order.
+         */
+        private void compact(int active) {
+            int[] keep = new int[active];
+            for (int p = 0, i = 0; p < rows.length; p++) {
+                if (state[p] != DONE) {
+                    keep[i++] = p;
+                }
+            }
+            rows = retain(rows, keep);
+            state = retain(state, keep);
+            x = new double[active];
+            fx = new double[active];
+            fLower = retain(fLower, keep);
+            fUpper = retain(fUpper, keep);
+            fLeft = retain(fLeft, keep);
+            fRight = retain(fRight, keep);
+            a = retain(a, keep);
+            b = retain(b, keep);
+            c = retain(c, keep);
+            d = retain(d, keep);
+            fa = retain(fa, keep);
+            fb = retain(fb, keep);
+            fc = retain(fc, keep);
+            mflag = retain(mflag, keep);
+            g.retain(keep, active);
+        }
+
+        private static double[] retain(double[] column, int[] keep) {
+            double[] retained = new double[keep.length];
+            for (int i = 0; i < keep.length; i++) {
+                retained[i] = column[keep[i]];
+            }
+            return retained;
+        }
+
+        private static int[] retain(int[] column, int[] keep) {
+            int[] retained = new int[keep.length];
+            for (int i = 0; i < keep.length; i++) {
+                retained[i] = column[keep[i]];
+            }
+            return retained;
+        }
+
+        private static boolean[] retain(boolean[] column, int[] keep) {
+            boolean[] retained = new boolean[keep.length];
+            for (int i = 0; i < keep.length; i++) {
+                retained[i] = column[keep[i]];
+            }
+            return retained;
+        }
+    }
+}
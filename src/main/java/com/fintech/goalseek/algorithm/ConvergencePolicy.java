@@ -0,0 +1,148 @@
+package com.fintech.goalseek.algorithm;
+
+/**
+ * When a goal seek counts as converged.
+ *
+ * <p>The {@link Criterion} decides how the tolerance is applied to the residual
+ * {@code |f(x) - target|} and to the step or bracket width in x. Independently of the
+ * criterion, iterates that stop moving in floating point are treated as converged:
+ * bracketing methods stop once the bracket has collapsed to a few ulps, and open methods
+ * once their steps have stayed that small for {@link #getStagnationLimit()} iterations.
+ * Policies are immutable.
+ */
+public final class ConvergencePolicy {
+
+    /**
+     * Distance in ulps below which two iterates count as not moving.
+     */
+    private static final double STAGNATION_ULPS = 4;
+
+    /**
+     * Factor by which the residual may exceed the tolerance for a result that ran out
+     * of iterations to still be reported as converged.
+     */
+    private static final double NEAR_CONVERGENCE_FACTOR = 100;
+
+    private static final int DEFAULT_STAGNATION_LIMIT = 3;
+
+    public enum Criterion {
+        /**
+         * Residual and step below the tolerance.
+         */
+        ABSOLUTE(1e-10),
+        /**
+         * Residual below tolerance x |target| and step below tolerance x |x|.
+         * Falls back to absolute when the target or x is zero.
+         */
+        RELATIVE(1e-12),
+        /**
+         * Step below the tolerance; the residual only counts when it is exactly zero.
+         */
+        X_TOLERANCE(1e-10),
+        /**
+         * Residual within tolerance ulps of the target and step within tolerance ulps of x.
+         */
+        ULP(16);
+
+        private final double defaultTolerance;
+
+        Criterion(double defaultTolerance) {
+            this.defaultTolerance = defaultTolerance;
+        }
+
+        public double getDefaultTolerance() {
+            return defaultTolerance;
+        }
+    }
+
+    private final Criterion criterion;
+    private final double tolerance;
+    private final int stagnationLimit;
+
+    private ConvergencePolicy(Criterion criterion, double tolerance, int stagnationLimit) {
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("Tolerance must not be negative: " + tolerance);
+        }
+        this.criterion = criterion;
+        this.tolerance = tolerance;
+        this.stagnationLimit = Math.max(1, stagnationLimit);
+    }
+
+    /**
+     * Absolute tolerance on the residual and the step, the historical behaviour.
+     */
+    public static ConvergencePolicy absolute(double tolerance) {
+        return new ConvergencePolicy(Criterion.ABSOLUTE, tolerance, DEFAULT_STAGNATION_LIMIT);
+    }
+
+    public static ConvergencePolicy of(Criterion criterion, double tolerance, int stagnationLimit) {
+        return new ConvergencePolicy(criterion, tolerance, stagnationLimit);
+    }
+
+    public Criterion getCriterion() {
+        return criterion;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public int getStagnationLimit() {
+        return stagnationLimit;
+    }
+
+    /**
+     * Whether the residual {@code |f(x) - target|} is small enough.
+     */
+    public boolean isResidualConverged(double residual, double target) {
+        return switch (criterion) {
+            case ABSOLUTE -> residual < tolerance;
+            case RELATIVE -> residual <= (target != 0 ? tolerance * Math.abs(target) : tolerance);
+            case X_TOLERANCE -> residual == 0;
+            case ULP -> residual <= tolerance * Math.ulp(target);
+        };
+    }
+
+    /**
+     * Whether a residual left after running out of iterations is close enough to report as converged.
+     */
+    public boolean isNearlyConverged(double residual, double target) {
+        return isResidualConverged(residual / NEAR_CONVERGENCE_FACTOR, target);
+    }
+
+    /**
+     * Whether a step or bracket width around x is small enough.
+     */
+    public boolean isStepConverged(double step, double x) {
+        return switch (criterion) {
+            case ABSOLUTE -> step < tolerance;
+            case RELATIVE -> step <= (x != 0 ? tolerance * Math.abs(x) : tolerance);
+            case X_TOLERANCE -> step <= tolerance;
+            case ULP -> step <= tolerance * Math.ulp(x);
+        };
+    }
+
+    /**
+     * The step or bracket width around x that counts as converged, for methods that plan
+     * their iterations from it.
+     */
+    public double stepTolerance(double x) {
+        return switch (criterion) {
+            case ABSOLUTE, X_TOLERANCE -> tolerance;
+            case RELATIVE -> x != 0 ? tolerance * Math.abs(x) : tolerance;
+            case ULP -> tolerance * Math.ulp(x);
+        };
+    }
+
+    /**
+     * Whether two iterates are within a few ulps, so further iterations cannot separate them.
+     */
+    public boolean isStagnant(double x, double previous) {
+        return Math.abs(x - previous) <= STAGNATION_ULPS * Math.max(Math.ulp(x), Math.ulp(previous));
+    }
+
+    @Override
+    public String toString() {
+        return criterion + "(" + tolerance + ")";
+    }
+}
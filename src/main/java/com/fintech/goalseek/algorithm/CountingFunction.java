@@ -0,0 +1,27 @@
+package com.fintech.goalseek.algorithm;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Function wrapper that counts its evaluations.
+ * Like the bound functions it wraps, it is confined to one solve and not thread-safe.
+ */
+public final class CountingFunction implements DoubleUnaryOperator {
+
+    private final DoubleUnaryOperator function;
+    private long count;
+
+    public CountingFunction(DoubleUnaryOperator function) {
+        this.function = function;
+    }
+
+    @Override
+    public double applyAsDouble(double x) {
+        count++;
+        return function.applyAsDouble(x);
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
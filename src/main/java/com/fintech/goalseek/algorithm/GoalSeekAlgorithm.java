@@ -14,13 +14,63 @@ public interface GoalSeekAlgorithm {
      * @param target     The target value to achieve
      * @param lowerBound Lower bound of search range
      * @param upperBound Upper bound of search range
-     * @param tolerance  Convergence tolerance
+     * @param tolerance  Absolute convergence tolerance
      * @param maxIter    Maximum iterations
      * @return Goal seek result
      */
-    GoalSeekResult solve(DoubleUnaryOperator function, double target,
-                         double lowerBound, double upperBound,
-                         double tolerance, int maxIter);
+    default GoalSeekResult solve(DoubleUnaryOperator function, double target,
+                                 double lowerBound, double upperBound,
+                                 double tolerance, int maxIter) {
+        return solve(function, null, target, lowerBound, upperBound, tolerance, maxIter);
+    }
+
+    /**
+     * Find the value of x such that f(x) = target, given the analytic derivative of f.
+     * Algorithms that do not use derivatives ignore it.
+     *
+     * @param function   The function to evaluate
+     * @param derivative The derivative of the function, or null if not available
+     * @param target     The target value to achieve
+     * @param lowerBound Lower bound of search range
+     * @param upperBound Upper bound of search range
+     * @param tolerance  Absolute convergence tolerance
+     * @param maxIter    Maximum iterations
+     * @return Goal seek result
+     */
+    default GoalSeekResult solve(DoubleUnaryOperator function, DoubleUnaryOperator derivative,
+                                 double target, double lowerBound, double upperBound,
+                                 double tolerance, int maxIter) {
+        return solve(function, derivative, target, lowerBound, upperBound,
+                ConvergencePolicy.absolute(tolerance), maxIter, SolveBudget.unlimited());
+    }
+
+    /**
+     * Find the value of x such that f(x) = target under a convergence policy and within a
+     * time and evaluation budget.
+     * Once the budget is exhausted the algorithm stops and returns its best estimate so far,
+     * marked as {@link GoalSeekResult#isDeadlineExceeded() deadline exceeded}.
+     *
+     * @param function   The function to evaluate
+     * @param derivative The derivative of the function, or null if not available
+     * @param target     The target value to achieve
+     * @param lowerBound Lower bound of search range
+     * @param upperBound Upper bound of search range
+     * @param convergence When the result counts as converged
+     * @param maxIter    Maximum iterations
+     * @param budget     Budget checked on every iteration
+     * @return Goal seek result
+     */
+    GoalSeekResult solve(DoubleUnaryOperator function, DoubleUnaryOperator derivative,
+                         double target, double lowerBound, double upperBound,
+                         ConvergencePolicy convergence, int maxIter, SolveBudget budget);
+
+    /**
+     * Whether this algorithm needs a sign change between its bounds. When no bracket
+     * can be found, callers skip such algorithms instead of repeating the search.
+     */
+    default boolean isBracketing() {
+        return false;
+    }
 
     /**
      * Get the name of this algorithm.
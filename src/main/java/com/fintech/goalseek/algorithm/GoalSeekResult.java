@@ -1,6 +1,5 @@
 package com.fintech.goalseek.algorithm;
 
-import jdk.jfr.DataAmount;
 import lombok.Builder;
 import lombok.Data;
 
@@ -18,4 +17,25 @@ public class GoalSeekResult {
     private final int iterations;
     private final String algorithm;
     private final String message;
+
+    /**
+     * Number of times the bracket search widened the search range.
+     */
+    private final int bracketExpansions;
+
+    /**
+     * Function evaluations spent searching for a bracket, not counted in {@link #iterations}.
+     */
+    private final int bracketEvaluations;
+
+    /**
+     * Evaluations of the function by the algorithm, including its own bracket search and
+     * the evaluation of {@link #achievedValue}. Derivative evaluations are not counted.
+     */
+    private final long evaluations;
+
+    /**
+     * Whether the solve was cut short because its time or evaluation budget ran out.
+     */
+    private final boolean deadlineExceeded;
 }
@@ -0,0 +1,118 @@
+package com.fintech.goalseek.algorithm;
+
+import com.fintech.goalseek.algorithm.BracketSearch.Bracket;
+import org.springframework.stereotype.Component;
+
+import java.util.function.DoubleUnaryOperator;
+
+import static com.fintech.goalseek.algorithm.AlgorithmResults.bracketNotFound;
+import static com.fintech.goalseek.algorithm.AlgorithmResults.result;
+
+/**
+ * Regula falsi with the Anderson-Bjorck modification for finding roots.
+ * Plain regula falsi stalls when one end of the bracket never moves; here the value
+ * kept at that end is scaled down each time it is retained, by the Anderson-Bjorck
+ * factor when that is positive and by one half (the Illinois factor) otherwise.
+ * Converges superlinearly with one evaluation per step and never leaves the bracket.
+ */
+@Component
+public class IllinoisAlgorithm implements GoalSeekAlgorithm {
+
+    private static final double ILLINOIS_FACTOR = 0.5;
+
+    @Override
+    public GoalSeekResult solve(DoubleUnaryOperator function, DoubleUnaryOperator derivative,
+                                 double target, double lowerBound, double upperBound,
+                                 ConvergencePolicy convergence, int maxIter, SolveBudget budget) {
+        CountingFunction counted = new CountingFunction(function);
+
+        double a = lowerBound;
+        double b = upperBound;
+        double fa = counted.applyAsDouble(a);
+        double fb = counted.applyAsDouble(b);
+
+        int expansions = 0;
+        int bracketEvaluations = 0;
+
+        // Check if bounds contain a root
+        if (!((fa - target) * (fb - target) <= 0)) {
+            Bracket bracket = BracketSearch.find(x -> counted.applyAsDouble(x) - target,
+                    lowerBound, upperBound, Double.NaN, maxIter / 4, budget);
+            expansions = bracket.expansions();
+            bracketEvaluations = bracket.evaluations();
+            if (!bracket.isFound()) {
+                return bracketNotFound(getName(), bracket, counted, budget);
+            }
+            a = bracket.lower();
+            b = bracket.upper();
+            fa = counted.applyAsDouble(a);
+            fb = counted.applyAsDouble(b);
+        }
+
+        // b is the latest iterate and a the retained end; ga may be scaled down, gb never is
+        double ga = fa - target;
+        double gb = fb - target;
+        if (Math.abs(ga) < Math.abs(gb)) {
+            double temp = a; a = b; b = temp;
+            temp = fa; fa = fb; fb = temp;
+            temp = ga; ga = gb; gb = temp;
+        }
+
+        int iterations = 0;
+        while (true) {
+            double error = Math.abs(gb);
+            if (convergence.isResidualConverged(error, target) || convergence.isStepConverged(Math.abs(b - a), b)) {
+                return result(getName(), true, b, fb, error, iterations, "Converged successfully",
+                        expansions, bracketEvaluations, counted, false);
+            }
+            if (convergence.isStagnant(b, a)) {
+                return result(getName(), true, b, fb, error, iterations, "Converged to machine precision",
+                        expansions, bracketEvaluations, counted, false);
+            }
+            if (budget.isExhausted()) {
+                return result(getName(), false, b, fb, error, iterations, budget.exhaustedMessage(),
+                        expansions, bracketEvaluations, counted, true);
+            }
+            if (iterations >= maxIter) {
+                return result(getName(), convergence.isNearlyConverged(error, target), b, fb, error, iterations,
+                        "Maximum iterations reached", expansions, bracketEvaluations, counted, false);
+            }
+
+            double c = b - gb * (b - a) / (gb - ga);
+            if (!(c > Math.min(a, b) && c < Math.max(a, b))) {
+                // Rounding put the false position on or outside the bracket
+                c = a + (b - a) / 2;
+            }
+            double fc = counted.applyAsDouble(c);
+            double gc = fc - target;
+            iterations++;
+
+            if (Double.isNaN(gc)) {
+                return result(getName(), false, b, fb, error, iterations, "Function is undefined inside the bracket",
+                        expansions, bracketEvaluations, counted, false);
+            }
+            if (gc * gb < 0) {
+                // The root is between b and c: b becomes the retained end
+                a = b;
+                ga = gb;
+            } else {
+                // The root is still between a and c: shrink the value kept at a
+                double m = 1 - gc / gb;
+                ga *= m > 0 ? m : ILLINOIS_FACTOR;
+            }
+            b = c;
+            fb = fc;
+            gb = gc;
+        }
+    }
+
+    @Override
+    public boolean isBracketing() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "Illinois";
+    }
+}
@@ -0,0 +1,149 @@
+package com.fintech.goalseek.algorithm;
+
+import com.fintech.goalseek.algorithm.BracketSearch.Bracket;
+import org.springframework.stereotype.Component;
+
+import java.util.function.DoubleUnaryOperator;
+
+import static com.fintech.goalseek.algorithm.AlgorithmResults.bracketNotFound;
+import static com.fintech.goalseek.algorithm.AlgorithmResults.result;
+
+/**
+ * The ITP (Interpolate, Truncate, Project) method of Oliveira and Takahashi for finding roots.
+ * Each step takes the regula falsi point, pulls it towards the midpoint by a truncation that
+ * shrinks with the bracket, and projects it into a ball around the midpoint whose radius is
+ * planned so that the method never needs more than one step beyond bisection's count.
+ * On smooth functions it converges superlinearly, with one evaluation per step.
+ */
+@Component
+public class ItpAlgorithm implements GoalSeekAlgorithm {
+
+    /**
+     * Truncation scale kappa1 as a fraction of the reciprocal starting bracket width.
+     */
+    private static final double KAPPA_1 = 0.2;
+
+    /**
+     * Truncation exponent kappa2; anything in [1, 1 + golden ratio) keeps the superlinear order.
+     */
+    private static final double KAPPA_2 = 2;
+
+    /**
+     * Steps allowed beyond bisection's count, n0 in the paper.
+     */
+    private static final int SLACK = 1;
+
+    @Override
+    public GoalSeekResult solve(DoubleUnaryOperator function, DoubleUnaryOperator derivative,
+                                 double target, double lowerBound, double upperBound,
+                                 ConvergencePolicy convergence, int maxIter, SolveBudget budget) {
+        CountingFunction counted = new CountingFunction(function);
+
+        double a = lowerBound;
+        double b = upperBound;
+        double fa = counted.applyAsDouble(a);
+        double fb = counted.applyAsDouble(b);
+
+        int expansions = 0;
+        int bracketEvaluations = 0;
+
+        // Check if bounds contain a root
+        if (!((fa - target) * (fb - target) <= 0)) {
+            Bracket bracket = BracketSearch.find(x -> counted.applyAsDouble(x) - target,
+                    lowerBound, upperBound, Double.NaN, maxIter / 4, budget);
+            expansions = bracket.expansions();
+            bracketEvaluations = bracket.evaluations();
+            if (!bracket.isFound()) {
+                return bracketNotFound(getName(), bracket, counted, budget);
+            }
+            a = bracket.lower();
+            b = bracket.upper();
+            fa = counted.applyAsDouble(a);
+            fb = counted.applyAsDouble(b);
+        }
+
+        // Orient the bracket so that y = sign * (f - target) rises from y(a) <= 0 to y(b) >= 0
+        double sign = fa - target <= 0 ? 1 : -1;
+        double ya = sign * (fa - target);
+        double yb = sign * (fb - target);
+
+        double width = b - a;
+        double epsilon = Math.max(convergence.stepTolerance(a + width / 2) / 2,
+                Math.ulp(Math.max(Math.abs(a), Math.abs(b))));
+        int maxSteps = (int) Math.ceil(Math.log(width / (2 * epsilon)) / Math.log(2)) + SLACK;
+        double kappa1 = KAPPA_1 / width;
+
+        int iterations = 0;
+        while (true) {
+            boolean aBest = Math.abs(ya) < Math.abs(yb);
+            double x = aBest ? a : b;
+            double fx = aBest ? fa : fb;
+            double error = Math.abs(aBest ? ya : yb);
+
+            if (convergence.isResidualConverged(error, target) || convergence.isStepConverged(b - a, x)) {
+                return result(getName(), true, x, fx, error, iterations, "Converged successfully",
+                        expansions, bracketEvaluations, counted, false);
+            }
+            if (convergence.isStagnant(a, b)) {
+                return result(getName(), true, x, fx, error, iterations, "Converged to machine precision",
+                        expansions, bracketEvaluations, counted, false);
+            }
+            if (budget.isExhausted()) {
+                return result(getName(), false, x, fx, error, iterations, budget.exhaustedMessage(),
+                        expansions, bracketEvaluations, counted, true);
+            }
+            if (iterations >= maxIter) {
+                return result(getName(), convergence.isNearlyConverged(error, target), x, fx, error, iterations,
+                        "Maximum iterations reached", expansions, bracketEvaluations, counted, false);
+            }
+
+            // Interpolate
+            double half = (b - a) / 2;
+            double midpoint = a + half;
+            double falsi = (yb * a - ya * b) / (yb - ya);
+
+            // Truncate
+            double offset = midpoint - falsi;
+            double direction = Math.signum(offset);
+            double delta = kappa1 * Math.pow(b - a, KAPPA_2);
+            double truncated = delta <= Math.abs(offset) ? falsi + direction * delta : midpoint;
+
+            // Project onto the ball that keeps the worst case within maxSteps
+            double radius = epsilon * Math.scalb(1.0, maxSteps - iterations) - half;
+            double next = Math.abs(truncated - midpoint) <= radius ? truncated : midpoint - direction * radius;
+            if (!(next > a && next < b)) {
+                next = midpoint;
+            }
+
+            double fNext = counted.applyAsDouble(next);
+            double yNext = sign * (fNext - target);
+            iterations++;
+
+            if (yNext > 0) {
+                b = next;
+                fb = fNext;
+                yb = yNext;
+            } else if (yNext < 0) {
+                a = next;
+                fa = fNext;
+                ya = yNext;
+            } else if (yNext == 0) {
+                return result(getName(), true, next, fNext, 0, iterations, "Converged successfully",
+                        expansions, bracketEvaluations, counted, false);
+            } else {
+                return result(getName(), false, x, fx, error, iterations, "Function is undefined inside the bracket",
+                        expansions, bracketEvaluations, counted, false);
+            }
+        }
+    }
+
+    @Override
+    public boolean isBracketing() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "ITP";
+    }
+}
@@ -6,7 +6,8 @@ import java.util.function.DoubleUnaryOperator;
 
 /**
  * Newton-Raphson method for finding roots.
- * Uses numerical differentiation for derivative estimation.
+ * Uses the analytic derivative when one is supplied and falls back to
+ * numerical differentiation otherwise.
  * Fast convergence when close to the root.
  */
 @Component
@@ -15,81 +16,118 @@ public class NewtonRaphsonAlgorithm implements GoalSeekAlgorithm {
     private static final double DERIVATIVE_STEP = 1e-8;
 
     @Override
-    public GoalSeekResult solve(DoubleUnaryOperator function, double target,
-                                 double lowerBound, double upperBound,
-                                 double tolerance, int maxIter) {
-        
+    public GoalSeekResult solve(DoubleUnaryOperator function, DoubleUnaryOperator derivative,
+                                 double target, double lowerBound, double upperBound,
+                                 ConvergencePolicy convergence, int maxIter, SolveBudget budget) {
+        CountingFunction counted = new CountingFunction(function);
+
+        // Use the central difference when no analytic derivative is available
+        DoubleUnaryOperator slope = derivative != null ? derivative : x -> numericalDerivative(counted, x);
+
         // Transform to find root of g(x) = f(x) - target
-        DoubleUnaryOperator g = x -> function.applyAsDouble(x) - target;
+        DoubleUnaryOperator g = x -> counted.applyAsDouble(x) - target;
         
         // Start from midpoint or provided initial guess
         double x = (lowerBound + upperBound) / 2.0;
         double fx = g.applyAsDouble(x);
         
         int iterations = 0;
+        int stagnantSteps = 0;
         
         while (iterations < maxIter) {
-            if (Math.abs(fx) < tolerance) {
+            if (convergence.isResidualConverged(Math.abs(fx), target)) {
                 return GoalSeekResult.builder()
                         .converged(true)
                         .value(x)
-                        .achievedValue(function.applyAsDouble(x))
+                        .achievedValue(counted.applyAsDouble(x))
                         .error(Math.abs(fx))
                         .iterations(iterations)
                         .algorithm(getName())
                         .message("Converged successfully")
+                        .evaluations(counted.getCount())
                         .build();
             }
             
-            // Numerical derivative using central difference
-            double derivative = numericalDerivative(g, x);
+            if (budget.isExhausted()) {
+                return GoalSeekResult.builder()
+                        .converged(false)
+                        .value(x)
+                        .achievedValue(counted.applyAsDouble(x))
+                        .error(Math.abs(fx))
+                        .iterations(iterations)
+                        .algorithm(getName())
+                        .message(budget.exhaustedMessage())
+                        .deadlineExceeded(true)
+                        .evaluations(counted.getCount())
+                        .build();
+            }
+
+            double dfx = slope.applyAsDouble(x);
             
-            if (Math.abs(derivative) < 1e-15) {
+            if (Math.abs(dfx) < 1e-15) {
                 // Derivative too small, cannot continue
                 return GoalSeekResult.builder()
                         .converged(false)
                         .value(x)
-                        .achievedValue(function.applyAsDouble(x))
+                        .achievedValue(counted.applyAsDouble(x))
                         .error(Math.abs(fx))
                         .iterations(iterations)
                         .algorithm(getName())
                         .message("Derivative too small, method stuck")
+                        .evaluations(counted.getCount())
                         .build();
             }
             
             // Newton-Raphson step
-            double xNew = x - fx / derivative;
+            double xNew = x - fx / dfx;
             
             // Keep within bounds
             if (xNew < lowerBound) xNew = lowerBound;
             if (xNew > upperBound) xNew = upperBound;
             
             // Check for convergence
-            if (Math.abs(xNew - x) < tolerance) {
+            if (convergence.isStepConverged(Math.abs(xNew - x), xNew)) {
                 return GoalSeekResult.builder()
                         .converged(true)
                         .value(xNew)
-                        .achievedValue(function.applyAsDouble(xNew))
+                        .achievedValue(counted.applyAsDouble(xNew))
                         .error(Math.abs(g.applyAsDouble(xNew)))
                         .iterations(iterations + 1)
                         .algorithm(getName())
                         .message("Converged successfully")
+                        .evaluations(counted.getCount())
                         .build();
             }
             
+            // Stop once the steps have stayed within a few ulps; the root is as close as it gets
+            stagnantSteps = convergence.isStagnant(xNew, x) ? stagnantSteps + 1 : 0;
+            if (stagnantSteps >= convergence.getStagnationLimit()) {
+                return GoalSeekResult.builder()
+                        .converged(true)
+                        .value(xNew)
+                        .achievedValue(counted.applyAsDouble(xNew))
+                        .error(Math.abs(g.applyAsDouble(xNew)))
+                        .iterations(iterations + 1)
+                        .algorithm(getName())
+                        .message("Converged to machine precision")
+                        .evaluations(counted.getCount())
+                        .build();
+            }
+
             x = xNew;
             fx = g.applyAsDouble(x);
             iterations++;
         }
         
         return GoalSeekResult.builder()
-                .converged(Math.abs(fx) < tolerance * 100)
+                .converged(convergence.isNearlyConverged(Math.abs(fx), target))
                 .value(x)
-                .achievedValue(function.applyAsDouble(x))
+                .achievedValue(counted.applyAsDouble(x))
                 .error(Math.abs(fx))
                 .iterations(iterations)
                 .algorithm(getName())
                 .message("Maximum iterations reached")
+                .evaluations(counted.getCount())
                 .build();
     }
 
@@ -0,0 +1,20 @@
+package com.fintech.goalseek.algorithm;
+
+/**
+ * A proof about the sign of g over an interval, used to skip regions that cannot hold a root.
+ */
+@FunctionalInterface
+public interface SignBound {
+
+    /**
+     * Never proves anything.
+     */
+    SignBound NONE = (lower, upper) -> 0;
+
+    /**
+     * The sign g keeps at every point of [lower, upper] where it is defined.
+     *
+     * @return 1 or -1 if g provably keeps that sign, 0 if it may change sign or vanish
+     */
+    int signOver(double lower, double upper);
+}
@@ -0,0 +1,85 @@
+package com.fintech.goalseek.algorithm;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Time and function evaluation budget for one goal seek.
+ *
+ * <p>Algorithms check {@link #isExhausted} in their iteration loops and stop with the best
+ * result so far once it returns true. Evaluations are only counted by functions wrapped
+ * with {@link #meter}, or when {@link #charge charged} by solvers that evaluate many points at
+ * once. A budget may be shared by algorithms running at the same time.
+ */
+public final class SolveBudget {
+
+    private static final SolveBudget UNLIMITED = new SolveBudget(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final long deadline;
+    private final long maxEvaluations;
+    private final AtomicLong evaluations = new AtomicLong();
+
+    private SolveBudget(long deadline, long maxEvaluations) {
+        this.deadline = deadline;
+        this.maxEvaluations = maxEvaluations;
+    }
+
+    /**
+     * A budget that never runs out.
+     */
+    public static SolveBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * A budget starting now.
+     *
+     * @param timeout        time allowed, or null for no time limit
+     * @param maxEvaluations evaluations allowed, or 0 for no limit
+     */
+    public static SolveBudget of(Duration timeout, long maxEvaluations) {
+        long deadline = timeout == null
+                ? Long.MAX_VALUE
+                : System.nanoTime() + Math.min(timeout.toNanos(), Long.MAX_VALUE / 2);
+        return new SolveBudget(deadline, maxEvaluations > 0 ? maxEvaluations : Long.MAX_VALUE);
+    }
+
+    /**
+     * Wrap a function so that its evaluations count against this budget.
+     */
+    public DoubleUnaryOperator meter(DoubleUnaryOperator function) {
+        if (function == null || maxEvaluations == Long.MAX_VALUE) {
+            return function;
+        }
+        return x -> {
+            evaluations.incrementAndGet();
+            return function.applyAsDouble(x);
+        };
+    }
+
+    /**
+     * Count evaluations made without a metered function, such as a column of points evaluated
+     * in one call.
+     */
+    public void charge(long count) {
+        if (maxEvaluations != Long.MAX_VALUE) {
+            evaluations.addAndGet(count);
+        }
+    }
+
+    /**
+     * Whether the deadline has passed or the evaluations have been used up.
+     */
+    public boolean isExhausted() {
+        return evaluations.get() >= maxEvaluations
+                || (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0);
+    }
+
+    /**
+     * Status message for a result cut short by this budget.
+     */
+    public String exhaustedMessage() {
+        return evaluations.get() >= maxEvaluations ? "Evaluation budget exceeded" : "Deadline exceeded";
+    }
+}
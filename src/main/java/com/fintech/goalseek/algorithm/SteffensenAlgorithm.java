@@ -0,0 +1,120 @@
+package com.fintech.goalseek.algorithm;
+
+import org.springframework.stereotype.Component;
+
+import java.util.function.DoubleUnaryOperator;
+
+import static com.fintech.goalseek.algorithm.AlgorithmResults.result;
+
+/**
+ * Steffensen's method for finding roots.
+ * Like Newton-Raphson it converges quadratically, but it replaces the derivative with the
+ * slope of a secant whose width shrinks with the residual, so each step costs two function
+ * evaluations instead of Newton's three with a numerical derivative.
+ *
+ * <p>The classic secant width is the residual g(x) itself, which only suits functions of
+ * unit scale. Here it is the residual divided by the previous slope, so the probe lands on
+ * the point a Newton step would pick; the width is still proportional to the residual, so
+ * the order is unchanged. The first slope comes from the analytic derivative when one is
+ * supplied and from a central difference otherwise.
+ */
+@Component
+public class SteffensenAlgorithm implements GoalSeekAlgorithm {
+
+    private static final double DERIVATIVE_STEP = 1e-8;
+
+    @Override
+    public GoalSeekResult solve(DoubleUnaryOperator function, DoubleUnaryOperator derivative,
+                                 double target, double lowerBound, double upperBound,
+                                 ConvergencePolicy convergence, int maxIter, SolveBudget budget) {
+        CountingFunction counted = new CountingFunction(function);
+
+        // Start from the midpoint of the bounds
+        double x = (lowerBound + upperBound) / 2.0;
+        double fx = counted.applyAsDouble(x);
+        double gx = fx - target;
+        double slope = derivative != null
+                ? derivative.applyAsDouble(x)
+                : numericalDerivative(counted, x);
+
+        int iterations = 0;
+        int stagnantSteps = 0;
+
+        while (true) {
+            double error = Math.abs(gx);
+            if (convergence.isResidualConverged(error, target)) {
+                return result(getName(), true, x, fx, error, iterations, "Converged successfully", counted, false);
+            }
+            if (budget.isExhausted()) {
+                return result(getName(), false, x, fx, error, iterations, budget.exhaustedMessage(), counted, true);
+            }
+            if (iterations >= maxIter) {
+                return result(getName(), convergence.isNearlyConverged(error, target), x, fx, error, iterations,
+                        "Maximum iterations reached", counted, false);
+            }
+            if (!Double.isFinite(slope) || Math.abs(slope) < 1e-15) {
+                return result(getName(), false, x, fx, error, iterations, "Slope too small, method stuck",
+                        counted, false);
+            }
+
+            // Probe where a Newton step with the previous slope would land
+            double probe = clamp(x - gx / slope, lowerBound, upperBound);
+            double width = probe - x;
+            if (width == 0) {
+                return result(getName(), convergence.isNearlyConverged(error, target), x, fx, error, iterations,
+                        "Converged to machine precision", counted, false);
+            }
+            double fProbe = counted.applyAsDouble(probe);
+            double gProbe = fProbe - target;
+            iterations++;
+
+            if (convergence.isResidualConverged(Math.abs(gProbe), target)) {
+                return result(getName(), true, probe, fProbe, Math.abs(gProbe), iterations, "Converged successfully",
+                        counted, false);
+            }
+
+            // Steffensen step with the secant slope over [x, probe]
+            slope = (gProbe - gx) / width;
+            if (!Double.isFinite(slope) || Math.abs(slope) < 1e-15) {
+                return result(getName(), false, probe, fProbe, Math.abs(gProbe), iterations,
+                        "Slope too small, method stuck", counted, false);
+            }
+            double xNew = clamp(x - gx / slope, lowerBound, upperBound);
+            double fNew = counted.applyAsDouble(xNew);
+            double gNew = fNew - target;
+
+            if (convergence.isStepConverged(Math.abs(xNew - x), xNew)) {
+                return result(getName(), true, xNew, fNew, Math.abs(gNew), iterations, "Converged successfully",
+                        counted, false);
+            }
+
+            // Stop once the steps have stayed within a few ulps; the root is as close as it gets
+            stagnantSteps = convergence.isStagnant(xNew, x) ? stagnantSteps + 1 : 0;
+            if (stagnantSteps >= convergence.getStagnationLimit()) {
+                return result(getName(), true, xNew, fNew, Math.abs(gNew), iterations, "Converged to machine precision",
+                        counted, false);
+            }
+
+            x = xNew;
+            fx = fNew;
+            gx = gNew;
+        }
+    }
+
+    private static double clamp(double x, double lowerBound, double upperBound) {
+        return Math.max(lowerBound, Math.min(upperBound, x));
+    }
+
+    /**
+     * Compute numerical derivative using central difference.
+     */
+    private double numericalDerivative(DoubleUnaryOperator f, double x) {
+        double h = DERIVATIVE_STEP * Math.max(1.0, Math.abs(x));
+        return (f.applyAsDouble(x + h) - f.applyAsDouble(x - h)) / (2.0 * h);
+    }
+
+    @Override
+    public String getName() {
+        return "Steffensen";
+    }
+}
@@ -0,0 +1,194 @@
+package com.fintech.goalseek.codec;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+import static com.fintech.goalseek.codec.ColumnBlocks.*;
+
+/**
+ * Reads a message in the {@link ColumnBlocks} format field by field. Array columns are copied
+ * from the stream in chunks into the arrays they are returned in, with no per-element objects.
+ *
+ * <pre>
+ * while (reader.next()) {
+ *     switch (reader.name()) {
+ *         case "formulaName" -> request.setFormulaName(reader.readString());
+ *         default -> reader.skip();
+ *     }
+ * }
+ * </pre>
+ */
+public final class ColumnBlockReader {
+
+    private final DataInputStream in;
+    private final int maxColumnLength;
+    private final long maxMessageValues;
+    private long valuesRead;
+    private final byte[] chunk = new byte[CHUNK_BYTES];
+    private final DoubleBuffer doubles = ByteBuffer.wrap(chunk).asDoubleBuffer();
+    private final IntBuffer ints = ByteBuffer.wrap(chunk).asIntBuffer();
+    private byte type;
+    private String name;
+
+    /**
+     * Start reading a message.
+     *
+     * @param maxColumnLength  most elements an array column may have, checked before it is allocated
+     * @param maxMessageValues most elements all the array columns read from the message may have
+     *                         together, checked before each is allocated; skipped columns do not count
+     * @throws IOException if the stream does not start with a column block message
+     */
+    public ColumnBlockReader(InputStream in, int maxColumnLength, long maxMessageValues) throws IOException {
+        this.in = new DataInputStream(in);
+        this.maxColumnLength = maxColumnLength;
+        this.maxMessageValues = maxMessageValues;
+        if (this.in.readInt() != MAGIC) {
+            throw new IOException("Not a column block message");
+        }
+    }
+
+    /**
+     * Move to the next field.
+     *
+     * @return false at the end of the message
+     */
+    public boolean next() throws IOException {
+        type = in.readByte();
+        if (type == END) {
+            name = null;
+            return false;
+        }
+        name = in.readUTF();
+        return true;
+    }
+
+    /**
+     * Name of the current field.
+     */
+    public String name() {
+        return name;
+    }
+
+    public String readString() throws IOException {
+        expect(STRING);
+        return in.readUTF();
+    }
+
+    public double readDouble() throws IOException {
+        expect(DOUBLE);
+        return in.readDouble();
+    }
+
+    public long readLong() throws IOException {
+        expect(LONG);
+        return in.readLong();
+    }
+
+    public int readInt() throws IOException {
+        expect(INT);
+        return in.readInt();
+    }
+
+    public boolean readBoolean() throws IOException {
+        expect(BOOLEAN);
+        return in.readBoolean();
+    }
+
+    public double[] readDoubles() throws IOException {
+        expect(DOUBLES);
+        double[] values = new double[allocate()];
+        int perChunk = CHUNK_BYTES / Double.BYTES;
+        for (int read = 0; read < values.length; read += perChunk) {
+            int count = Math.min(perChunk, values.length - read);
+            in.readFully(chunk, 0, count * Double.BYTES);
+            doubles.clear();
+            doubles.get(values, read, count);
+        }
+        return values;
+    }
+
+    public int[] readInts() throws IOException {
+        expect(INTS);
+        int[] values = new int[allocate()];
+        int perChunk = CHUNK_BYTES / Integer.BYTES;
+        for (int read = 0; read < values.length; read += perChunk) {
+            int count = Math.min(perChunk, values.length - read);
+            in.readFully(chunk, 0, count * Integer.BYTES);
+            ints.clear();
+            ints.get(values, read, count);
+        }
+        return values;
+    }
+
+    public boolean[] readBooleans() throws IOException {
+        expect(BOOLEANS);
+        boolean[] values = new boolean[allocate()];
+        for (int read = 0; read < values.length; read += CHUNK_BYTES) {
+            int count = Math.min(CHUNK_BYTES, values.length - read);
+            in.readFully(chunk, 0, count);
+            for (int i = 0; i < count; i++) {
+                values[read + i] = chunk[i] != 0;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Skip the value of the current field.
+     */
+    public void skip() throws IOException {
+        switch (type) {
+            case STRING -> in.readUTF();
+            case DOUBLE, LONG -> in.readFully(chunk, 0, Long.BYTES);
+            case INT -> in.readFully(chunk, 0, Integer.BYTES);
+            case BOOLEAN -> in.readFully(chunk, 0, 1);
+            case DOUBLES -> skipBytes((long) readLength() * Double.BYTES);
+            case INTS -> skipBytes((long) readLength() * Integer.BYTES);
+            case BOOLEANS -> skipBytes(readLength());
+            default -> throw new IOException("Unknown type " + type + " of field " + name);
+        }
+    }
+
+    private int readLength() throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Column " + name + " has a negative length");
+        }
+        if (length > maxColumnLength) {
+            throw new IOException("Column " + name + " has " + length + " values, more than the maximum of "
+                    + maxColumnLength);
+        }
+        return length;
+    }
+
+    /**
+     * Read the length of a column that is about to be allocated, and count it towards the message.
+     */
+    private int allocate() throws IOException {
+        int length = readLength();
+        if (length > maxMessageValues - valuesRead) {
+            throw new IOException("Message has more than the maximum of " + maxMessageValues + " values in its columns");
+        }
+        valuesRead += length;
+        return length;
+    }
+
+    private void skipBytes(long count) throws IOException {
+        while (count > 0) {
+            int length = (int) Math.min(count, CHUNK_BYTES);
+            in.readFully(chunk, 0, length);
+            count -= length;
+        }
+    }
+
+    private void expect(byte expected) throws IOException {
+        if (type != expected) {
+            throw new IOException("Field " + name + " has type '" + (char) type + "', expected '"
+                    + (char) expected + "'");
+        }
+    }
+}
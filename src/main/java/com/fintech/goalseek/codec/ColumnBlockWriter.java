@@ -0,0 +1,121 @@
+package com.fintech.goalseek.codec;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+import static com.fintech.goalseek.codec.ColumnBlocks.*;
+
+/**
+ * Writes a message in the {@link ColumnBlocks} format field by field. Null values are not
+ * written, so readers see them as absent. Array columns are copied to the stream in chunks.
+ * The message is complete once {@link #finish} has been called.
+ */
+public final class ColumnBlockWriter {
+
+    private final DataOutputStream out;
+    private final byte[] chunk = new byte[CHUNK_BYTES];
+    private final DoubleBuffer doubles = ByteBuffer.wrap(chunk).asDoubleBuffer();
+    private final IntBuffer ints = ByteBuffer.wrap(chunk).asIntBuffer();
+
+    public ColumnBlockWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.out.writeInt(MAGIC);
+    }
+
+    public void writeString(String name, String value) throws IOException {
+        if (value != null) {
+            header(STRING, name);
+            out.writeUTF(value);
+        }
+    }
+
+    public void writeDouble(String name, Double value) throws IOException {
+        if (value != null) {
+            header(DOUBLE, name);
+            out.writeDouble(value);
+        }
+    }
+
+    public void writeLong(String name, Long value) throws IOException {
+        if (value != null) {
+            header(LONG, name);
+            out.writeLong(value);
+        }
+    }
+
+    public void writeInt(String name, Integer value) throws IOException {
+        if (value != null) {
+            header(INT, name);
+            out.writeInt(value);
+        }
+    }
+
+    public void writeBoolean(String name, Boolean value) throws IOException {
+        if (value != null) {
+            header(BOOLEAN, name);
+            out.writeBoolean(value);
+        }
+    }
+
+    public void writeDoubles(String name, double[] values) throws IOException {
+        if (values == null) {
+            return;
+        }
+        header(DOUBLES, name);
+        out.writeInt(values.length);
+        int perChunk = CHUNK_BYTES / Double.BYTES;
+        for (int written = 0; written < values.length; written += perChunk) {
+            int count = Math.min(perChunk, values.length - written);
+            doubles.clear();
+            doubles.put(values, written, count);
+            out.write(chunk, 0, count * Double.BYTES);
+        }
+    }
+
+    public void writeInts(String name, int[] values) throws IOException {
+        if (values == null) {
+            return;
+        }
+        header(INTS, name);
+        out.writeInt(values.length);
+        int perChunk = CHUNK_BYTES / Integer.BYTES;
+        for (int written = 0; written < values.length; written += perChunk) {
+            int count = Math.min(perChunk, values.length - written);
+            ints.clear();
+            ints.put(values, written, count);
+            out.write(chunk, 0, count * Integer.BYTES);
+        }
+    }
+
+    public void writeBooleans(String name, boolean[] values) throws IOException {
+        if (values == null) {
+            return;
+        }
+        header(BOOLEANS, name);
+        out.writeInt(values.length);
+        for (int written = 0; written < values.length; written += CHUNK_BYTES) {
+            int count = Math.min(CHUNK_BYTES, values.length - written);
+            for (int i = 0; i < count; i++) {
+                chunk[i] = (byte) (values[written + i] ? 1 : 0);
+            }
+            out.write(chunk, 0, count);
+        }
+    }
+
+    /**
+     * End the message and flush it.
+     */
+    public void finish() throws IOException {
+        out.writeByte(END);
+        out.flush();
+    }
+
+    private void header(byte type, String name) throws IOException {
+        out.writeByte(type);
+        out.writeUTF(name);
+    }
+}
@@ -0,0 +1,44 @@
+package com.fintech.goalseek.codec;
+
+/**
+ * The column block wire format: a compact binary encoding of the columnar DTOs, read and written
+ * straight from and to the request and response bodies.
+ *
+ * <pre>
+ * message := MAGIC field* END
+ * field   := type name value
+ * name    := length-prefixed modified UTF-8, as written by DataOutput.writeUTF
+ * value   := STRING: length-prefixed modified UTF-8
+ *          | DOUBLE: 8 bytes | LONG: 8 bytes | INT: 4 bytes | BOOLEAN: 1 byte
+ *          | DOUBLES, INTS, BOOLEANS: a 4-byte element count, then the elements
+ * </pre>
+ *
+ * <p>Numbers are big-endian IEEE 754 doubles and two's complement integers; type tags are one byte.
+ * Fields may come in any order, absent fields are null, and readers skip fields they do not know.
+ * Map entries are fields named {@code map.key}, e.g. {@code knownValues.P}.
+ */
+final class ColumnBlocks {
+
+    /**
+     * "GSC1".
+     */
+    static final int MAGIC = 0x47534331;
+
+    static final byte END = 0;
+    static final byte STRING = 'S';
+    static final byte DOUBLE = 'd';
+    static final byte LONG = 'j';
+    static final byte INT = 'i';
+    static final byte BOOLEAN = 'z';
+    static final byte DOUBLES = 'D';
+    static final byte INTS = 'I';
+    static final byte BOOLEANS = 'Z';
+
+    /**
+     * Bytes copied at a time between the stream and an array column.
+     */
+    static final int CHUNK_BYTES = 8192;
+
+    private ColumnBlocks() {
+    }
+}
@@ -0,0 +1,161 @@
+package com.fintech.goalseek.codec;
+
+import com.fintech.goalseek.algorithm.ConvergencePolicy;
+import com.fintech.goalseek.dto.BatchEvaluateRequest;
+import com.fintech.goalseek.dto.BatchEvaluateResponse;
+import com.fintech.goalseek.dto.ColumnarGoalSeekRequest;
+import com.fintech.goalseek.dto.ColumnarGoalSeekResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes the columnar DTOs in the {@link ColumnBlocks} format, for clients that send
+ * {@value #MEDIA_TYPE_VALUE} as their {@code Content-Type} or {@code Accept}. The DTOs hold their
+ * columns as primitive arrays, so a message is decoded into them directly; the only objects
+ * created per message are the DTO, its column map and the arrays themselves.
+ *
+ * <p>Fields are named as the DTO properties; the known value columns of a goal seek are
+ * {@code knownValues.<variable>} and those of an evaluation {@code values.<variable>}.
+ */
+public class ColumnarMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-goalseek-columns";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final String KNOWN_VALUES_PREFIX = "knownValues.";
+    private static final String VALUES_PREFIX = "values.";
+
+    private final int maxColumnLength;
+    private final long maxMessageValues;
+
+    /**
+     * @param maxColumnLength  most values a column may have; longer columns are rejected before
+     *                         they are read
+     * @param maxMessageValues most values all the columns of a message may have together, however
+     *                         many columns it repeats; the column that would exceed it is rejected
+     *                         before it is read
+     */
+    public ColumnarMessageConverter(int maxColumnLength, long maxMessageValues) {
+        super(MEDIA_TYPE);
+        this.maxColumnLength = maxColumnLength;
+        this.maxMessageValues = maxMessageValues;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return isReadable(clazz) || isWritable(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return isReadable(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return isWritable(clazz) && canWrite(mediaType);
+    }
+
+    private static boolean isReadable(Class<?> clazz) {
+        return clazz == ColumnarGoalSeekRequest.class || clazz == BatchEvaluateRequest.class;
+    }
+
+    private static boolean isWritable(Class<?> clazz) {
+        return clazz == ColumnarGoalSeekResponse.class || clazz == BatchEvaluateResponse.class;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            ColumnBlockReader reader = new ColumnBlockReader(inputMessage.getBody(), maxColumnLength, maxMessageValues);
+            return clazz == ColumnarGoalSeekRequest.class ? readGoalSeek(reader) : readEvaluate(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Invalid column block message: " + e.getMessage(), e,
+                    inputMessage);
+        }
+    }
+
+    private static ColumnarGoalSeekRequest readGoalSeek(ColumnBlockReader reader) throws IOException {
+        ColumnarGoalSeekRequest request = new ColumnarGoalSeekRequest();
+        Map<String, double[]> knownValues = new LinkedHashMap<>();
+        request.setKnownValues(knownValues);
+        while (reader.next()) {
+            String name = reader.name();
+            switch (name) {
+                case "formulaName" -> request.setFormulaName(reader.readString());
+                case "seekVariable" -> request.setSeekVariable(reader.readString());
+                case "targetValues" -> request.setTargetValues(reader.readDoubles());
+                case "lowerBound" -> request.setLowerBound(reader.readDouble());
+                case "upperBound" -> request.setUpperBound(reader.readDouble());
+                case "initialGuess" -> request.setInitialGuess(reader.readDouble());
+                case "convergence" -> request.setConvergence(ConvergencePolicy.Criterion.valueOf(reader.readString()));
+                case "tolerance" -> request.setTolerance(reader.readDouble());
+                case "timeoutMillis" -> request.setTimeoutMillis(reader.readLong());
+                case "maxEvaluations" -> request.setMaxEvaluations(reader.readLong());
+                default -> {
+                    if (name.startsWith(KNOWN_VALUES_PREFIX)) {
+                        knownValues.put(name.substring(KNOWN_VALUES_PREFIX.length()), reader.readDoubles());
+                    } else {
+                        reader.skip();
+                    }
+                }
+            }
+        }
+        return request;
+    }
+
+    private static BatchEvaluateRequest readEvaluate(ColumnBlockReader reader) throws IOException {
+        Map<String, double[]> values = new LinkedHashMap<>();
+        while (reader.next()) {
+            String name = reader.name();
+            if (name.startsWith(VALUES_PREFIX)) {
+                values.put(name.substring(VALUES_PREFIX.length()), reader.readDoubles());
+            } else {
+                reader.skip();
+            }
+        }
+        return new BatchEvaluateRequest(values);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        ColumnBlockWriter writer = new ColumnBlockWriter(outputMessage.getBody());
+        if (value instanceof ColumnarGoalSeekResponse response) {
+            writeGoalSeek(writer, response);
+        } else {
+            writeEvaluate(writer, (BatchEvaluateResponse) value);
+        }
+        writer.finish();
+    }
+
+    private static void writeGoalSeek(ColumnBlockWriter writer, ColumnarGoalSeekResponse response)
+            throws IOException {
+        writer.writeString("formulaName", response.getFormulaName());
+        writer.writeString("seekVariable", response.getSeekVariable());
+        writer.writeInt("rows", response.getRows());
+        writer.writeInt("succeeded", response.getSucceeded());
+        writer.writeInt("failed", response.getFailed());
+        writer.writeBooleans("success", response.getSuccess());
+        writer.writeDoubles("computedValues", response.getComputedValues());
+        writer.writeDoubles("achievedValues", response.getAchievedValues());
+        writer.writeDoubles("errors", response.getErrors());
+        writer.writeInts("iterations", response.getIterations());
+        writer.writeInt("steps", response.getSteps());
+        writer.writeLong("evaluations", response.getEvaluations());
+        writer.writeString("algorithm", response.getAlgorithm());
+        writer.writeBoolean("deadlineExceeded", response.isDeadlineExceeded());
+    }
+
+    private static void writeEvaluate(ColumnBlockWriter writer, BatchEvaluateResponse response) throws IOException {
+        writer.writeString("formulaName", response.getFormulaName());
+        writer.writeInt("rows", response.getRows());
+        writer.writeDoubles("results", response.getResults());
+    }
+}
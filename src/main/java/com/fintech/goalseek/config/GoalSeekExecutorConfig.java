@@ -0,0 +1,56 @@
+package com.fintech.goalseek.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread pools used to solve goal seeks off the request threads.
+ */
+@Configuration
+public class GoalSeekExecutorConfig {
+
+    /**
+     * Bounded pool for batch solving. Defaults to one worker per core.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool goalSeekPool(@Value("${goalseek.batch.parallelism:0}") int parallelism) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(workers);
+    }
+
+    /**
+     * Pool for racing algorithms against each other. When it is saturated the
+     * caller runs the algorithm itself, which degrades to sequential solving.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService goalSeekRacePool(@Value("${goalseek.race.threads:0}") int threads,
+                                            @Value("${goalseek.race.queue-capacity:256}") int queueCapacity) {
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors() * 3;
+        return new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("goal-seek-race-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Pool for asynchronous goal seek jobs, separate from the request threads. Each worker
+     * runs one job at a time; jobs beyond the queue capacity are rejected rather than queued.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor goalSeekJobPool(@Value("${goalseek.jobs.threads:0}") int threads,
+                                              @Value("${goalseek.jobs.queue-capacity:16}") int queueCapacity) {
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("goal-seek-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,78 @@
+package com.fintech.goalseek.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.goalseek.admission.AdaptiveConcurrencyLimit;
+import com.fintech.goalseek.admission.AdmissionControlFilter;
+import com.fintech.goalseek.admission.RequestSizeLimitFilter;
+import com.fintech.goalseek.codec.ColumnarMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Message converters beyond Spring Boot's defaults, and the request size and admission control filters.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Most values a column of a binary columnar message may have.
+     */
+    @Value("${goalseek.codec.max-column-length:1000000}")
+    private int maxColumnLength;
+
+    /**
+     * Most values all the columns of a binary columnar message may have together.
+     */
+    @Value("${goalseek.codec.max-message-values:4000000}")
+    private long maxMessageValues;
+
+    /**
+     * The columnar binary converter goes after the defaults, so JSON stays the default
+     * whenever a client accepts both.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ColumnarMessageConverter(maxColumnLength, maxMessageValues));
+    }
+
+    /**
+     * Limit on the size of goal seek and evaluate request bodies, ahead of admission control so an
+     * oversized request never takes a slot.
+     */
+    @Bean
+    public FilterRegistrationBean<RequestSizeLimitFilter> requestSizeLimitFilter(
+            ObjectMapper objectMapper,
+            @Value("${goalseek.request.max-body-size:64MB}") DataSize maxBodySize) {
+        FilterRegistrationBean<RequestSizeLimitFilter> registration = new FilterRegistrationBean<>(
+                new RequestSizeLimitFilter(objectMapper, maxBodySize.toBytes()));
+        registration.addUrlPatterns("/api/goal-seek/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+
+    /**
+     * Admission control for the goal seek endpoints, switched off with
+     * {@code goalseek.admission.enabled=false}.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdaptiveConcurrencyLimit limit, ObjectMapper objectMapper,
+            @Value("${goalseek.admission.enabled:true}") boolean enabled,
+            @Value("${goalseek.admission.client-header:X-Client-Id}") String clientHeader,
+            @Value("${goalseek.admission.retry-after:1s}") Duration retryAfter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(limit, objectMapper, clientHeader, retryAfter.toSeconds()));
+        registration.addUrlPatterns("/api/goal-seek/*");
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
@@ -1,8 +1,12 @@
 package com.fintech.goalseek.controller;
 
+import com.fintech.goalseek.dto.CacheStatistics;
 import com.fintech.goalseek.dto.FormulaRequest;
 import com.fintech.goalseek.dto.FormulaResponse;
+import com.fintech.goalseek.service.FormulaEvaluator;
+import com.fintech.goalseek.service.FormulaRegistry;
 import com.fintech.goalseek.service.FormulaService;
+import com.fintech.goalseek.service.GoalSeekResultCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for managing financial formulas.
@@ -24,9 +29,16 @@ import java.util.List;
 public class FormulaController {
 
     private final FormulaService formulaService;
+    private final FormulaRegistry formulaRegistry;
+    private final FormulaEvaluator formulaEvaluator;
+    private final GoalSeekResultCache resultCache;
 
-    public FormulaController(FormulaService formulaService) {
+    public FormulaController(FormulaService formulaService, FormulaRegistry formulaRegistry,
+                             FormulaEvaluator formulaEvaluator, GoalSeekResultCache resultCache) {
         this.formulaService = formulaService;
+        this.formulaRegistry = formulaRegistry;
+        this.formulaEvaluator = formulaEvaluator;
+        this.resultCache = resultCache;
     }
 
     @PostMapping
@@ -48,6 +60,18 @@ public class FormulaController {
         return ResponseEntity.ok(formulaService.getAllFormulas());
     }
 
+    @GetMapping("/cache-stats")
+    @Operation(summary = "Get formula cache statistics",
+               description = "Hit/miss counters of the in-memory formula registry, the compiled formula cache " +
+                       "and the goal seek result cache")
+    public ResponseEntity<Map<String, CacheStatistics>> getCacheStatistics() {
+        return ResponseEntity.ok(Map.of(
+                "formulaRegistry", formulaRegistry.getStatistics(),
+                "compiledFormulas", formulaEvaluator.getStatistics(),
+                "goalSeekResults", resultCache.getStatistics()
+        ));
+    }
+
     @GetMapping("/{name}")
     @Operation(summary = "Get formula by name", description = "Retrieves a specific formula by its unique name")
     @ApiResponses({
@@ -1,16 +1,33 @@
 package com.fintech.goalseek.controller;
 
+import com.fintech.goalseek.codec.ColumnarMessageConverter;
+import com.fintech.goalseek.dto.AlgorithmStatistics;
+import com.fintech.goalseek.dto.BatchEvaluateRequest;
+import com.fintech.goalseek.dto.BatchEvaluateResponse;
+import com.fintech.goalseek.dto.BatchGoalSeekRequest;
+import com.fintech.goalseek.dto.BatchGoalSeekResponse;
+import com.fintech.goalseek.dto.ColumnarGoalSeekRequest;
+import com.fintech.goalseek.dto.ColumnarGoalSeekResponse;
 import com.fintech.goalseek.dto.GoalSeekRequest;
 import com.fintech.goalseek.dto.GoalSeekResponse;
+import com.fintech.goalseek.service.AlgorithmSelector;
+import com.fintech.goalseek.service.BatchGoalSeekService;
+import com.fintech.goalseek.service.ColumnarGoalSeekService;
 import com.fintech.goalseek.service.GoalSeekService;
+import com.fintech.goalseek.service.StreamingGoalSeekService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -22,9 +39,20 @@ import java.util.Map;
 public class GoalSeekController {
 
     private final GoalSeekService goalSeekService;
+    private final BatchGoalSeekService batchGoalSeekService;
+    private final ColumnarGoalSeekService columnarGoalSeekService;
+    private final StreamingGoalSeekService streamingGoalSeekService;
+    private final AlgorithmSelector algorithmSelector;
 
-    public GoalSeekController(GoalSeekService goalSeekService) {
+    public GoalSeekController(GoalSeekService goalSeekService, BatchGoalSeekService batchGoalSeekService,
+                              ColumnarGoalSeekService columnarGoalSeekService,
+                              StreamingGoalSeekService streamingGoalSeekService,
+                              AlgorithmSelector algorithmSelector) {
         this.goalSeekService = goalSeekService;
+        this.batchGoalSeekService = batchGoalSeekService;
+        this.columnarGoalSeekService = columnarGoalSeekService;
+        this.streamingGoalSeekService = streamingGoalSeekService;
+        this.algorithmSelector = algorithmSelector;
     }
 
     @PostMapping
@@ -40,6 +68,57 @@ public class GoalSeekController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Perform goal seeks in batch",
+               description = "Solves many goal seek requests in parallel. Results are returned in request order " +
+                       "with a per-item status, so an invalid item does not fail the whole batch")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Batch completed"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    })
+    public ResponseEntity<BatchGoalSeekResponse> seekGoalBatch(@Valid @RequestBody BatchGoalSeekRequest request) {
+        return ResponseEntity.ok(batchGoalSeekService.seekGoals(request));
+    }
+
+    @PostMapping(value = "/columnar",
+                 consumes = {MediaType.APPLICATION_JSON_VALUE, ColumnarMessageConverter.MEDIA_TYPE_VALUE},
+                 produces = {MediaType.APPLICATION_JSON_VALUE, ColumnarMessageConverter.MEDIA_TYPE_VALUE})
+    @Operation(summary = "Perform goal seeks of one formula in columns",
+               description = "Solves one goal seek per target value, all for the same formula and seek variable, " +
+                       "with known values given as one column per variable. The rows are solved together and " +
+                       "the results are returned as columns in row order. Request and response may be JSON " +
+                       "or the binary " + ColumnarMessageConverter.MEDIA_TYPE_VALUE + " format")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Goal seeks completed"),
+        @ApiResponse(responseCode = "400", description = "Missing, mismatched or oversized columns, or invalid bounds"),
+        @ApiResponse(responseCode = "404", description = "Formula not found")
+    })
+    public ResponseEntity<ColumnarGoalSeekResponse> seekGoalColumnar(
+            @Valid @RequestBody ColumnarGoalSeekRequest request) {
+        return ResponseEntity.ok(columnarGoalSeekService.seekGoals(request));
+    }
+
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Perform goal seeks as a stream",
+               description = "Reads newline-delimited JSON goal seek requests and writes one result line per request " +
+                       "as soon as it is solved. Results may be out of order and carry the index of their input line")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Stream processed")
+    })
+    public void seekGoalStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        streamingGoalSeekService.seekGoals(request.getInputStream(), response.getOutputStream());
+    }
+
+    @GetMapping("/algorithm-stats")
+    @Operation(summary = "Get algorithm statistics",
+               description = "Observed attempts, successes and evaluations of each algorithm per formula and " +
+                       "seek variable, best first. The sequential strategy tries algorithms in this order")
+    public ResponseEntity<List<AlgorithmStatistics>> getAlgorithmStatistics() {
+        return ResponseEntity.ok(algorithmSelector.getStatistics());
+    }
+
     @PostMapping("/evaluate/{formulaName}")
     @Operation(summary = "Evaluate a formula",
                description = "Evaluates a formula with given variable values (utility endpoint)")
@@ -58,4 +137,27 @@ public class GoalSeekController {
                 "result", result
         ));
     }
+
+    @PostMapping(value = "/evaluate/{formulaName}/batch",
+                 consumes = {MediaType.APPLICATION_JSON_VALUE, ColumnarMessageConverter.MEDIA_TYPE_VALUE},
+                 produces = {MediaType.APPLICATION_JSON_VALUE, ColumnarMessageConverter.MEDIA_TYPE_VALUE})
+    @Operation(summary = "Evaluate a formula over many value sets",
+               description = "Evaluates a formula for every row of the given value columns, one column per " +
+                       "variable. Rows that cannot be evaluated have a NaN result. Request and response may be " +
+                       "JSON or the binary " + ColumnarMessageConverter.MEDIA_TYPE_VALUE + " format")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Formula evaluated successfully"),
+        @ApiResponse(responseCode = "400", description = "Missing, mismatched or oversized columns"),
+        @ApiResponse(responseCode = "404", description = "Formula not found")
+    })
+    public ResponseEntity<BatchEvaluateResponse> evaluateFormulaBatch(
+            @PathVariable String formulaName,
+            @Valid @RequestBody BatchEvaluateRequest request) {
+        double[] results = goalSeekService.evaluateFormulaColumns(formulaName, request.getValues());
+        return ResponseEntity.ok(BatchEvaluateResponse.builder()
+                .formulaName(formulaName)
+                .rows(results.length)
+                .results(results)
+                .build());
+    }
 }
@@ -0,0 +1,83 @@
+package com.fintech.goalseek.controller;
+
+import com.fintech.goalseek.dto.BatchGoalSeekRequest;
+import com.fintech.goalseek.dto.GoalSeekJobResponse;
+import com.fintech.goalseek.dto.GoalSeekJobResultsResponse;
+import com.fintech.goalseek.service.GoalSeekJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * REST controller for goal seek batches solved in the background.
+ */
+@RestController
+@RequestMapping("/api/goal-seek/jobs")
+@Tag(name = "Goal Seek Jobs", description = "APIs for submitting goal seek batches and collecting their results")
+public class GoalSeekJobController {
+
+    private final GoalSeekJobService goalSeekJobService;
+
+    public GoalSeekJobController(GoalSeekJobService goalSeekJobService) {
+        this.goalSeekJobService = goalSeekJobService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Submit a goal seek job",
+               description = "Queues a batch of goal seek requests and returns the job at once. Poll the job for " +
+                       "progress and fetch its results in pages")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Job accepted"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+        @ApiResponse(responseCode = "503", description = "Job queue is full")
+    })
+    public ResponseEntity<GoalSeekJobResponse> submitJob(@Valid @RequestBody BatchGoalSeekRequest request) {
+        GoalSeekJobResponse job = goalSeekJobService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/goal-seek/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a goal seek job", description = "Status and progress of a job")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Job found"),
+        @ApiResponse(responseCode = "404", description = "Job not found or expired")
+    })
+    public ResponseEntity<GoalSeekJobResponse> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(goalSeekJobService.getJob(id));
+    }
+
+    @GetMapping("/{id}/results")
+    @Operation(summary = "Get goal seek job results",
+               description = "One page of a job's results in request order, including those of a job still running")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Results page"),
+        @ApiResponse(responseCode = "400", description = "Invalid page or page size"),
+        @ApiResponse(responseCode = "404", description = "Job not found or expired")
+    })
+    public ResponseEntity<GoalSeekJobResultsResponse> getResults(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(goalSeekJobService.getResults(id, page, size));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancel a goal seek job",
+               description = "A queued job never starts; a running job stops after its current item and keeps " +
+                       "the results solved so far")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Job cancelled or already finished"),
+        @ApiResponse(responseCode = "404", description = "Job not found or expired")
+    })
+    public ResponseEntity<GoalSeekJobResponse> cancelJob(@PathVariable String id) {
+        return ResponseEntity.ok(goalSeekJobService.cancel(id));
+    }
+}
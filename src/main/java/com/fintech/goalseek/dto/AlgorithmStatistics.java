@@ -0,0 +1,39 @@
+package com.fintech.goalseek.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Observed convergence of one algorithm on one formula and seek variable.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlgorithmStatistics {
+
+    private String formulaName;
+
+    private String seekVariable;
+
+    private String algorithm;
+
+    /**
+     * Runs that returned a result or failed, excluding race contenders cancelled by a winner.
+     */
+    private long attempts;
+
+    private long successes;
+
+    /**
+     * Function evaluations summed over the successful runs.
+     */
+    private long successEvaluations;
+
+    /**
+     * Expected evaluations per success, lower is better; null until there are enough attempts.
+     */
+    private Double score;
+}
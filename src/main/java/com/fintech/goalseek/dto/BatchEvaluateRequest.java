@@ -0,0 +1,23 @@
+package com.fintech.goalseek.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for evaluating a formula over many value sets, given as one column of values per variable.
+ * Every column must have the same length: row i is evaluated with the i-th value of each column.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEvaluateRequest {
+
+    @NotEmpty(message = "Values are required")
+    private Map<String, double[]> values;
+}
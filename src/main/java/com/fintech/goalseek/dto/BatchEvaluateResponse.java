@@ -0,0 +1,23 @@
+package com.fintech.goalseek.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the results of a batch evaluation, one per row in input order.
+ * A row that cannot be evaluated, e.g. because it divides by zero, has a NaN result.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEvaluateResponse {
+
+    private String formulaName;
+
+    private int rows;
+
+    private double[] results;
+}
@@ -0,0 +1,27 @@
+package com.fintech.goalseek.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single item in a batch goal seek, at the same position as its request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGoalSeekItem {
+
+    public static final String STATUS_OK = "OK";
+    public static final String STATUS_ERROR = "ERROR";
+
+    private int index;
+
+    private String status;
+
+    private GoalSeekResponse result;
+
+    private String error;
+}
@@ -0,0 +1,23 @@
+package com.fintech.goalseek.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a batch of goal seek requests.
+ * Items are validated one by one, so an invalid item only fails itself.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGoalSeekRequest {
+
+    @NotEmpty(message = "At least one request is required")
+    private List<GoalSeekRequest> requests;
+}
@@ -0,0 +1,26 @@
+package com.fintech.goalseek.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for batch goal seek results, returned in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGoalSeekResponse {
+
+    private int total;
+
+    private int succeeded;
+
+    private int failed;
+
+    private List<BatchGoalSeekItem> results;
+}
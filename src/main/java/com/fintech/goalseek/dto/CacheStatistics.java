@@ -0,0 +1,22 @@
+package com.fintech.goalseek.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hit/miss counters of an in-memory cache.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatistics {
+
+    private long hits;
+
+    private long misses;
+
+    private int size;
+}
@@ -0,0 +1,71 @@
+package com.fintech.goalseek.dto;
+
+import com.fintech.goalseek.algorithm.ConvergencePolicy;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for many goal seeks of one formula and seek variable, given as columns: row i seeks
+ * {@code targetValues[i]} with the i-th value of each known value column. Every column must have
+ * one value per target. The bounds, convergence, timeout and evaluation budget apply to all rows.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ColumnarGoalSeekRequest {
+
+    @NotBlank(message = "Formula name is required")
+    private String formulaName;
+
+    @NotBlank(message = "Seek variable is required")
+    private String seekVariable;
+
+    @NotNull(message = "Known values map is required")
+    private Map<String, double[]> knownValues;
+
+    @NotEmpty(message = "At least one target value is required")
+    private double[] targetValues;
+
+    private Double lowerBound;
+
+    private Double upperBound;
+
+    /**
+     * Where the bracket search starts for every row.
+     */
+    private Double initialGuess;
+
+    /**
+     * Convergence criterion, overriding the formula's and the configured default.
+     */
+    private ConvergencePolicy.Criterion convergence;
+
+    /**
+     * Tolerance for the convergence criterion.
+     */
+    @PositiveOrZero(message = "Tolerance must not be negative")
+    private Double tolerance;
+
+    /**
+     * Time allowed for all rows in milliseconds. Can tighten but not extend the configured default.
+     */
+    @Positive(message = "Timeout must be positive")
+    private Long timeoutMillis;
+
+    /**
+     * Function evaluations allowed for all rows together, one per row and step.
+     * Can tighten but not extend the configured default.
+     */
+    @Positive(message = "Maximum evaluations must be positive")
+    private Long maxEvaluations;
+}
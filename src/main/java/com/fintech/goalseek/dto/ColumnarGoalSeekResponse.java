@@ -0,0 +1,55 @@
+package com.fintech.goalseek.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the results of a columnar goal seek, one entry per row in input order.
+ * A row for which no bracket was found has a NaN computed value.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ColumnarGoalSeekResponse {
+
+    private String formulaName;
+
+    private String seekVariable;
+
+    private int rows;
+
+    private int succeeded;
+
+    private int failed;
+
+    private boolean[] success;
+
+    private double[] computedValues;
+
+    private double[] achievedValues;
+
+    private double[] errors;
+
+    /**
+     * Iterations of each row after its bracket was found.
+     */
+    private int[] iterations;
+
+    /**
+     * Lockstep steps, each evaluating the formula once for every row still being solved.
+     */
+    private int steps;
+
+    /**
+     * Evaluations of the formula summed over the rows, each counted only while it is being solved,
+     * as for the evaluations of a single goal seek.
+     */
+    private long evaluations;
+
+    private String algorithm;
+
+    private boolean deadlineExceeded;
+}
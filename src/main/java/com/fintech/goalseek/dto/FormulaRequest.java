@@ -1,7 +1,9 @@
 package com.fintech.goalseek.dto;
 
+import com.fintech.goalseek.algorithm.ConvergencePolicy;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -35,4 +37,12 @@ public class FormulaRequest {
 
     @NotEmpty(message = "At least one variable is required")
     private List<String> variables;
+
+    /**
+     * Convergence criterion for goal seeks on this formula, or null for the configured default.
+     */
+    private ConvergencePolicy.Criterion convergence;
+
+    @PositiveOrZero(message = "Tolerance must not be negative")
+    private Double tolerance;
 }
@@ -1,5 +1,6 @@
 package com.fintech.goalseek.dto;
 
+import com.fintech.goalseek.algorithm.ConvergencePolicy;
 import lombok.Builder;
 import lombok.Data;
 
@@ -25,6 +26,10 @@ public class FormulaResponse {
 
     private List<String> variables;
 
+    private ConvergencePolicy.Criterion convergence;
+
+    private Double tolerance;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
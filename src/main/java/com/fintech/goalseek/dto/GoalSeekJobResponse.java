@@ -0,0 +1,55 @@
+package com.fintech.goalseek.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the state and progress of an asynchronous goal seek job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalSeekJobResponse {
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private String id;
+
+    private String status;
+
+    private int total;
+
+    /**
+     * Items solved so far. Items are solved in request order, so these are the first ones.
+     */
+    private int completed;
+
+    private int succeeded;
+
+    private int failed;
+
+    private LocalDateTime submittedAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    /**
+     * When a finished job and its results will be discarded, at the latest.
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * Why the job failed, if it did.
+     */
+    private String error;
+}
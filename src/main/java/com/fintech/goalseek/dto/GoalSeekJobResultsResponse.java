@@ -0,0 +1,33 @@
+package com.fintech.goalseek.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of the results of a goal seek job, in request order.
+ * A page of a job still running holds only the items solved so far.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalSeekJobResultsResponse {
+
+    private String id;
+
+    private String status;
+
+    private int page;
+
+    private int size;
+
+    private int total;
+
+    private int completed;
+
+    private List<BatchGoalSeekItem> results;
+}
@@ -1,7 +1,10 @@
 package com.fintech.goalseek.dto;
 
+import com.fintech.goalseek.algorithm.ConvergencePolicy;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -35,4 +38,27 @@ public class GoalSeekRequest {
     private Double upperBound;
 
     private Double initialGuess;
+
+    /**
+     * Convergence criterion, overriding the formula's and the configured default.
+     */
+    private ConvergencePolicy.Criterion convergence;
+
+    /**
+     * Tolerance for the convergence criterion.
+     */
+    @PositiveOrZero(message = "Tolerance must not be negative")
+    private Double tolerance;
+
+    /**
+     * Time allowed for the solve in milliseconds. Can tighten but not extend the configured default.
+     */
+    @Positive(message = "Timeout must be positive")
+    private Long timeoutMillis;
+
+    /**
+     * Function evaluations allowed for the solve. Can tighten but not extend the configured default.
+     */
+    @Positive(message = "Maximum evaluations must be positive")
+    private Long maxEvaluations;
 }
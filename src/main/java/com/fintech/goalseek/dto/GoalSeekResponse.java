@@ -32,9 +32,21 @@ public class GoalSeekResponse {
 
     private Integer iterations;
 
+    /**
+     * Function evaluations spent searching for a bracket before iterating.
+     */
+    private Integer bracketEvaluations;
+
+    /**
+     * Function evaluations by the algorithm that produced the result.
+     */
+    private Long evaluations;
+
     private String algorithm;
 
     private Map<String, Double> allValues;
 
     private String message;
+
+    private boolean deadlineExceeded;
 }
@@ -1,5 +1,6 @@
 package com.fintech.goalseek.entity;
 
+import com.fintech.goalseek.algorithm.ConvergencePolicy;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -41,6 +42,14 @@ public class Formula {
     @Column(name = "variable_name")
     private List<String> variables;
 
+    /**
+     * Convergence criterion for goal seeks on this formula, or null for the configured default.
+     */
+    @Enumerated(EnumType.STRING)
+    private ConvergencePolicy.Criterion convergence;
+
+    private Double tolerance;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
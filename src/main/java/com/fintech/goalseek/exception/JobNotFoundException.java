@@ -0,0 +1,10 @@
+package com.fintech.goalseek.exception;
+
+/**
+ * Exception thrown when a goal seek job does not exist or its results have expired.
+ */
+public class JobNotFoundException extends RuntimeException {
+    public JobNotFoundException(String message) {
+        super(message);
+    }
+}
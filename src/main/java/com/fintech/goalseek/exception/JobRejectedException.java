@@ -0,0 +1,10 @@
+package com.fintech.goalseek.exception;
+
+/**
+ * Exception thrown when a goal seek job cannot be accepted because the job queue is full.
+ */
+public class JobRejectedException extends RuntimeException {
+    public JobRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.fintech.goalseek.exception;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown while reading a request body that grows past the configured maximum size.
+ * It is an {@link IOException} so that it can be thrown from the body's input stream.
+ */
+public class RequestTooLargeException extends IOException {
+    public RequestTooLargeException(String message) {
+        super(message);
+    }
+}
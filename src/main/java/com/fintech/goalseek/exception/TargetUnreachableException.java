@@ -0,0 +1,10 @@
+package com.fintech.goalseek.exception;
+
+/**
+ * Exception thrown when a goal seek target lies outside every value the formula can take.
+ */
+public class TargetUnreachableException extends GoalSeekException {
+    public TargetUnreachableException(String message) {
+        super(message);
+    }
+}
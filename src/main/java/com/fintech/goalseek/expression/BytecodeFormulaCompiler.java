@@ -0,0 +1,230 @@
+package com.fintech.goalseek.expression;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+/**
+ * Backend that compiles each formula into a JVM hidden class.
+ *
+ * <p>The generated {@link FormulaKernel#evaluate(double[])} reads every variable
+ * straight from its array slot and evaluates the expression as straight-line
+ * bytecode, so the JIT can inline and optimise it like hand-written Java.
+ * {@link FormulaKernel#evaluateColumns} wraps the same expression in a counted loop
+ * over the rows, reading each variable from its column, so column evaluation pays no
+ * call or copy per row; the JIT unrolls the loop and vectorises it when the expression
+ * is plain arithmetic. Hidden classes are unloaded once their compiled formula is no
+ * longer referenced.
+ */
+@Component
+@ConditionalOnProperty(name = "goalseek.evaluator.backend", havingValue = "bytecode")
+public class BytecodeFormulaCompiler implements FormulaCompiler {
+
+    private static final String CLASS_NAME = "com/fintech/goalseek/expression/GeneratedFormula";
+    private static final String KERNEL_NAME = Type.getInternalName(FormulaKernel.class);
+    private static final String OPERATIONS_NAME = Type.getInternalName(MathOperations.class);
+    private static final int NO_ROW = -1;
+    private static final int ROW_LOCAL = 5;
+    private static final int COLUMN_LOCALS = 6;
+
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    @Override
+    public CompiledFormula compile(String expression, List<String> variables) {
+        return compile(ExpressionParser.parse(expression, variables), variables);
+    }
+
+    @Override
+    public CompiledFormula compile(Node root, List<String> variables) {
+        FormulaKernel kernel = define(generate(root, variables));
+        return new BytecodeCompiledFormula(List.copyOf(variables), kernel);
+    }
+
+    @Override
+    public String getName() {
+        return "bytecode";
+    }
+
+    private byte[] generate(Node root, List<String> variables) {
+        // Frames are computed for the loop in evaluateColumns; its locals never merge different types
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+                CLASS_NAME, null, "java/lang/Object", new String[]{KERNEL_NAME});
+
+        MethodVisitor init = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
+                "evaluate", "([D)D", null, null);
+        method.visitCode();
+        emit(method, root, variables, NO_ROW);
+        method.visitInsn(Opcodes.DRETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+
+        generateColumns(writer, root, variables);
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    /**
+     * Generate {@code evaluateColumns(double[][] columns, double[] results, int from, int to)}.
+     * Locals: 1 columns, 2 results, 3 from, 4 to, 5 the row, then one column array per variable.
+     */
+    private void generateColumns(ClassWriter writer, Node root, List<String> variables) {
+        MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
+                "evaluateColumns", "([[D[DII)V", null, null);
+        method.visitCode();
+        for (int slot = 0; slot < variables.size(); slot++) {
+            method.visitVarInsn(Opcodes.ALOAD, 1);
+            method.visitLdcInsn(slot);
+            method.visitInsn(Opcodes.AALOAD);
+            method.visitVarInsn(Opcodes.ASTORE, COLUMN_LOCALS + slot);
+        }
+        method.visitVarInsn(Opcodes.ILOAD, 3);
+        method.visitVarInsn(Opcodes.ISTORE, ROW_LOCAL);
+
+        Label loop = new Label();
+        Label done = new Label();
+        method.visitLabel(loop);
+        method.visitVarInsn(Opcodes.ILOAD, ROW_LOCAL);
+        method.visitVarInsn(Opcodes.ILOAD, 4);
+        method.visitJumpInsn(Opcodes.IF_ICMPGE, done);
+        method.visitVarInsn(Opcodes.ALOAD, 2);
+        method.visitVarInsn(Opcodes.ILOAD, ROW_LOCAL);
+        emit(method, root, variables, ROW_LOCAL);
+        method.visitInsn(Opcodes.DASTORE);
+        method.visitIincInsn(ROW_LOCAL, 1);
+        method.visitJumpInsn(Opcodes.GOTO, loop);
+        method.visitLabel(done);
+        method.visitInsn(Opcodes.RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    /**
+     * Emit the expression. Variables are read from the value array, or from their column
+     * at the row in local {@code rowLocal} unless it is {@link #NO_ROW}.
+     */
+    private void emit(MethodVisitor method, Node node, List<String> variables, int rowLocal) {
+        if (node instanceof Node.Constant constant) {
+            method.visitLdcInsn(constant.value());
+        } else if (node instanceof Node.Variable variable) {
+            int slot = variables.indexOf(variable.name());
+            if (slot < 0) {
+                throw new IllegalArgumentException("Unknown variable: " + variable.name());
+            }
+            if (rowLocal == NO_ROW) {
+                method.visitVarInsn(Opcodes.ALOAD, 1);
+                method.visitLdcInsn(slot);
+            } else {
+                method.visitVarInsn(Opcodes.ALOAD, COLUMN_LOCALS + slot);
+                method.visitVarInsn(Opcodes.ILOAD, rowLocal);
+            }
+            method.visitInsn(Opcodes.DALOAD);
+        } else if (node instanceof Node.Negate negate) {
+            emit(method, negate.operand(), variables, rowLocal);
+            method.visitInsn(Opcodes.DNEG);
+        } else if (node instanceof Node.Binary binary) {
+            emit(method, binary.left(), variables, rowLocal);
+            emit(method, binary.right(), variables, rowLocal);
+            switch (binary.operator()) {
+                case ADD -> method.visitInsn(Opcodes.DADD);
+                case SUBTRACT -> method.visitInsn(Opcodes.DSUB);
+                case MULTIPLY -> method.visitInsn(Opcodes.DMUL);
+                case DIVIDE -> invokeStatic(method, OPERATIONS_NAME, "divide", 2);
+                case MODULO -> invokeStatic(method, OPERATIONS_NAME, "modulo", 2);
+                case POWER -> invokeStatic(method, "java/lang/Math", "pow", 2);
+            }
+        } else if (node instanceof Node.Call call) {
+            for (Node argument : call.arguments()) {
+                emit(method, argument, variables, rowLocal);
+            }
+            MathFunction function = call.function();
+            invokeStatic(method, function.getOwner().getInternalName(), function.getFunctionName(), function.getArity());
+        }
+    }
+
+    private void invokeStatic(MethodVisitor method, String owner, String name, int arity) {
+        String descriptor = arity == 1 ? "(D)D" : "(DD)D";
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, owner, name, descriptor, false);
+    }
+
+    private FormulaKernel define(byte[] bytes) {
+        try {
+            MethodHandles.Lookup hidden = lookup.defineHiddenClass(bytes, true);
+            return (FormulaKernel) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not define compiled formula class", e);
+        }
+    }
+
+    private static final class BytecodeCompiledFormula implements CompiledFormula {
+
+        private final List<String> variables;
+        private final FormulaKernel kernel;
+
+        BytecodeCompiledFormula(List<String> variables, FormulaKernel kernel) {
+            this.variables = variables;
+            this.kernel = kernel;
+        }
+
+        @Override
+        public List<String> getVariables() {
+            return variables;
+        }
+
+        @Override
+        public double evaluate(double[] values) {
+            return kernel.evaluate(values);
+        }
+
+        @Override
+        public void evaluate(double[][] columns, double[] results) {
+            int from = 0;
+            while (from < results.length) {
+                try {
+                    kernel.evaluateColumns(columns, results, from, results.length);
+                    return;
+                } catch (ArithmeticException e) {
+                    // Rows before the failing one are done; the failing row is NaN and the loop resumes after it
+                    from = failedRow(columns, results, from);
+                }
+            }
+        }
+
+        /**
+         * Find the first row from {@code from} that fails, mark it NaN and return the row after it.
+         */
+        private int failedRow(double[][] columns, double[] results, int from) {
+            double[] values = new double[columns.length];
+            for (int row = from; row < results.length; row++) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = columns[i][row];
+                }
+                try {
+                    results[row] = kernel.evaluate(values);
+                } catch (ArithmeticException e) {
+                    results[row] = Double.NaN;
+                    return row + 1;
+                }
+            }
+            return results.length;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.fintech.goalseek.expression;
+
+import java.util.List;
+
+/**
+ * A formula expression compiled for repeated evaluation.
+ * Variables are bound by position: {@code values[i]} is the value of {@code getVariables().get(i)}.
+ * Implementations are thread-safe.
+ */
+public interface CompiledFormula {
+
+    /**
+     * Variables of this formula in slot order.
+     */
+    List<String> getVariables();
+
+    /**
+     * Evaluate the formula.
+     *
+     * @param values variable values in slot order
+     * @throws ArithmeticException on division by zero
+     */
+    double evaluate(double[] values);
+
+    /**
+     * Evaluate the formula over columns of values, one row per index.
+     * {@code columns[i][row]} is the value of {@code getVariables().get(i)} in that row.
+     * A row that fails, e.g. on division by zero, evaluates to NaN instead of throwing.
+     *
+     * <p>The default evaluates row by row; backends override it with a loop over the columns.
+     *
+     * @param results receives one value per row; its length is the number of rows
+     */
+    default void evaluate(double[][] columns, double[] results) {
+        double[] values = new double[columns.length];
+        for (int row = 0; row < results.length; row++) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = columns[i][row];
+            }
+            try {
+                results[row] = evaluate(values);
+            } catch (ArithmeticException e) {
+                results[row] = Double.NaN;
+            }
+        }
+    }
+}
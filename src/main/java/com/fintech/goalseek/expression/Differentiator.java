@@ -0,0 +1,104 @@
+package com.fintech.goalseek.expression;
+
+import java.util.List;
+
+import static com.fintech.goalseek.expression.Nodes.*;
+
+/**
+ * Symbolic differentiation of {@link Node} trees.
+ * Every variable other than the one being differentiated is treated as a constant.
+ */
+public final class Differentiator {
+
+    private static final double LN_2 = Math.log(2);
+    private static final double LN_10 = Math.log(10);
+
+    private Differentiator() {
+    }
+
+    /**
+     * Compute d(node)/d(variable).
+     *
+     * @throws UnsupportedOperationException if the tree contains an operation with no usable derivative
+     */
+    public static Node derivative(Node node, String variable) {
+        if (!dependsOn(node, variable)) {
+            return ZERO;
+        }
+        if (node instanceof Node.Variable) {
+            return ONE;
+        } else if (node instanceof Node.Negate n) {
+            return negate(derivative(n.operand(), variable));
+        } else if (node instanceof Node.Binary b) {
+            return binaryRule(b, variable);
+        } else if (node instanceof Node.Call c) {
+            return callRule(c, variable);
+        }
+        throw new UnsupportedOperationException("Cannot differentiate " + node);
+    }
+
+    private static Node binaryRule(Node.Binary b, String variable) {
+        Node u = b.left();
+        Node v = b.right();
+        Node du = derivative(u, variable);
+        Node dv = derivative(v, variable);
+        return switch (b.operator()) {
+            case ADD -> add(du, dv);
+            case SUBTRACT -> subtract(du, dv);
+            case MULTIPLY -> add(multiply(du, v), multiply(u, dv));
+            case DIVIDE -> dependsOn(v, variable)
+                    ? divide(subtract(multiply(du, v), multiply(u, dv)), power(v, constant(2)))
+                    : divide(du, v);
+            case POWER -> powerRule(u, v, du, dv, variable);
+            case MODULO -> {
+                if (dependsOn(v, variable)) {
+                    throw new UnsupportedOperationException("Cannot differentiate modulo by " + variable);
+                }
+                yield du;
+            }
+        };
+    }
+
+    private static Node powerRule(Node u, Node v, Node du, Node dv, String variable) {
+        if (!dependsOn(v, variable)) {
+            // d(u^c) = c * u^(c-1) * u'
+            return multiply(multiply(v, power(u, subtract(v, ONE))), du);
+        }
+        Node lnU = call(MathFunction.LOG, u);
+        if (!dependsOn(u, variable)) {
+            // d(c^v) = c^v * ln(c) * v'
+            return multiply(multiply(power(u, v), lnU), dv);
+        }
+        // d(u^v) = u^v * (v' * ln(u) + v * u' / u)
+        return multiply(power(u, v), add(multiply(dv, lnU), divide(multiply(v, du), u)));
+    }
+
+    private static Node callRule(Node.Call c, String variable) {
+        List<Node> args = c.arguments();
+        Node u = args.get(0);
+        Node du = derivative(u, variable);
+        return switch (c.function()) {
+            case SIN -> multiply(call(MathFunction.COS, u), du);
+            case COS -> negate(multiply(call(MathFunction.SIN, u), du));
+            case TAN -> divide(du, power(call(MathFunction.COS, u), constant(2)));
+            case COT -> negate(divide(du, power(call(MathFunction.SIN, u), constant(2))));
+            case ASIN -> divide(du, call(MathFunction.SQRT, subtract(ONE, power(u, constant(2)))));
+            case ACOS -> negate(divide(du, call(MathFunction.SQRT, subtract(ONE, power(u, constant(2))))));
+            case ATAN -> divide(du, add(ONE, power(u, constant(2))));
+            case SINH -> multiply(call(MathFunction.COSH, u), du);
+            case COSH -> multiply(call(MathFunction.SINH, u), du);
+            case TANH -> multiply(subtract(ONE, power(call(MathFunction.TANH, u), constant(2))), du);
+            case ABS -> multiply(call(MathFunction.SIGNUM, u), du);
+            case LOG -> divide(du, u);
+            case LOG10 -> divide(du, multiply(u, constant(LN_10)));
+            case LOG2 -> divide(du, multiply(u, constant(LN_2)));
+            case LOG1P -> divide(du, add(ONE, u));
+            case SQRT -> divide(du, multiply(constant(2), call(MathFunction.SQRT, u)));
+            case CBRT -> divide(du, multiply(constant(3), power(call(MathFunction.CBRT, u), constant(2))));
+            case EXP -> multiply(call(MathFunction.EXP, u), du);
+            case EXPM1 -> multiply(call(MathFunction.EXP, u), du);
+            case POW -> powerRule(u, args.get(1), du, derivative(args.get(1), variable), variable);
+            case CEIL, FLOOR, SIGNUM -> ZERO;
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.fintech.goalseek.expression;
+
+import net.objecthunter.exp4j.Expression;
+import net.objecthunter.exp4j.ExpressionBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reference backend that evaluates formulas with exp4j.
+ * Each thread evaluates its own copy of the parsed expression, since exp4j
+ * expressions hold their variable values. Only the variables the expression
+ * references are set before each evaluation.
+ */
+@Component
+@ConditionalOnProperty(name = "goalseek.evaluator.backend", havingValue = "exp4j", matchIfMissing = true)
+public class Exp4jFormulaCompiler implements FormulaCompiler {
+
+    @Override
+    public CompiledFormula compile(String expression, List<String> variables) {
+        Expression prototype = new ExpressionBuilder(expression)
+                .variables(variables.toArray(new String[0]))
+                .build();
+        return new Exp4jCompiledFormula(List.copyOf(variables), prototype);
+    }
+
+    @Override
+    public String getName() {
+        return "exp4j";
+    }
+
+    private static final class Exp4jCompiledFormula implements CompiledFormula {
+
+        private final List<String> variables;
+        private final String[] names;
+        private final int[] slots;
+        private final ThreadLocal<Expression> expressions;
+
+        Exp4jCompiledFormula(List<String> variables, Expression prototype) {
+            Set<String> referenced = prototype.getVariableNames();
+            this.variables = variables;
+            this.names = variables.stream().filter(referenced::contains).toArray(String[]::new);
+            this.slots = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                slots[i] = variables.indexOf(names[i]);
+            }
+            this.expressions = ThreadLocal.withInitial(() -> new Expression(prototype));
+        }
+
+        @Override
+        public List<String> getVariables() {
+            return variables;
+        }
+
+        @Override
+        public double evaluate(double[] values) {
+            Expression expression = expressions.get();
+            for (int i = 0; i < names.length; i++) {
+                expression.setVariable(names[i], values[slots[i]]);
+            }
+            return expression.evaluate();
+        }
+    }
+}
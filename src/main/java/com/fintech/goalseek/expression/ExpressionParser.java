@@ -0,0 +1,114 @@
+package com.fintech.goalseek.expression;
+
+import net.objecthunter.exp4j.shuntingyard.ShuntingYard;
+import net.objecthunter.exp4j.tokenizer.FunctionToken;
+import net.objecthunter.exp4j.tokenizer.NumberToken;
+import net.objecthunter.exp4j.tokenizer.OperatorToken;
+import net.objecthunter.exp4j.tokenizer.Token;
+import net.objecthunter.exp4j.tokenizer.VariableToken;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parses formula expressions into a {@link Node} tree.
+ * Tokenizing and operator precedence are delegated to exp4j's shunting-yard
+ * implementation, so the accepted syntax is exactly the one exp4j accepts.
+ */
+public final class ExpressionParser {
+
+    private static final Map<String, Double> BUILT_IN_CONSTANTS = Map.of(
+            "pi", Math.PI,
+            "π", Math.PI,
+            "e", Math.E,
+            "φ", 1.61803398874d
+    );
+
+    private ExpressionParser() {
+    }
+
+    /**
+     * Parse an expression over the given variables.
+     *
+     * @throws IllegalArgumentException if the expression is not valid
+     */
+    public static Node parse(String expression, Collection<String> variables) {
+        if (expression == null || expression.isEmpty()) {
+            throw new IllegalArgumentException("The expression can not be empty");
+        }
+
+        for (String variable : variables) {
+            if (isFunctionName(variable)) {
+                throw new IllegalArgumentException("A variable can not have the same name as a function [" + variable + "]");
+            }
+        }
+
+        Set<String> names = new HashSet<>(variables);
+        names.addAll(BUILT_IN_CONSTANTS.keySet());
+        Token[] tokens = ShuntingYard.convertToRPN(expression, Collections.emptyMap(),
+                Collections.emptyMap(), names, true);
+
+        Deque<Node> stack = new ArrayDeque<>();
+        for (Token token : tokens) {
+            switch (token.getType()) {
+                case Token.TOKEN_NUMBER -> stack.push(new Node.Constant(((NumberToken) token).getValue()));
+                case Token.TOKEN_VARIABLE -> {
+                    String name = ((VariableToken) token).getName();
+                    if (!variables.contains(name) && BUILT_IN_CONSTANTS.containsKey(name)) {
+                        stack.push(new Node.Constant(BUILT_IN_CONSTANTS.get(name)));
+                    } else {
+                        stack.push(new Node.Variable(name));
+                    }
+                }
+                case Token.TOKEN_OPERATOR -> {
+                    net.objecthunter.exp4j.operator.Operator operator = ((OperatorToken) token).getOperator();
+                    if (operator.getNumOperands() == 1) {
+                        Node operand = pop(stack);
+                        stack.push(operator.getSymbol().equals("-") ? new Node.Negate(operand) : operand);
+                    } else {
+                        Node right = pop(stack);
+                        Node left = pop(stack);
+                        stack.push(new Node.Binary(Operator.fromSymbol(operator.getSymbol()), left, right));
+                    }
+                }
+                case Token.TOKEN_FUNCTION -> {
+                    MathFunction function = MathFunction.fromName(((FunctionToken) token).getFunction().getName());
+                    Node[] arguments = new Node[function.getArity()];
+                    for (int i = arguments.length - 1; i >= 0; i--) {
+                        arguments[i] = pop(stack);
+                    }
+                    stack.push(new Node.Call(function, List.of(arguments)));
+                }
+                default -> throw new IllegalArgumentException("Unexpected token in expression: " + expression);
+            }
+        }
+
+        if (stack.size() != 1) {
+            throw new IllegalArgumentException("Invalid number of items on the output queue. "
+                    + "Might be caused by an invalid number of arguments for a function.");
+        }
+        return stack.pop();
+    }
+
+    private static boolean isFunctionName(String name) {
+        for (MathFunction function : MathFunction.values()) {
+            if (function.getFunctionName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Node pop(Deque<Node> stack) {
+        if (stack.isEmpty()) {
+            throw new IllegalArgumentException("Invalid number of operands available");
+        }
+        return stack.pop();
+    }
+}
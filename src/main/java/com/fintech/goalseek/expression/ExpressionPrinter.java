@@ -0,0 +1,57 @@
+package com.fintech.goalseek.expression;
+
+import java.math.BigDecimal;
+
+/**
+ * Renders a {@link Node} tree back to expression text that exp4j can parse.
+ * Output is fully parenthesised so it does not depend on operator precedence.
+ */
+public final class ExpressionPrinter {
+
+    private ExpressionPrinter() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the tree holds a constant that has no textual form, such as NaN
+     */
+    public static String print(Node node) {
+        StringBuilder out = new StringBuilder();
+        print(node, out);
+        return out.toString();
+    }
+
+    private static void print(Node node, StringBuilder out) {
+        if (node instanceof Node.Constant c) {
+            if (!Double.isFinite(c.value())) {
+                throw new IllegalArgumentException("Cannot print non-finite constant: " + c.value());
+            }
+            String text = BigDecimal.valueOf(c.value()).toPlainString();
+            if (c.value() < 0) {
+                out.append('(').append(text).append(')');
+            } else {
+                out.append(text);
+            }
+        } else if (node instanceof Node.Variable v) {
+            out.append(v.name());
+        } else if (node instanceof Node.Negate n) {
+            out.append("(-");
+            print(n.operand(), out);
+            out.append(')');
+        } else if (node instanceof Node.Binary b) {
+            out.append('(');
+            print(b.left(), out);
+            out.append(b.operator().getSymbol());
+            print(b.right(), out);
+            out.append(')');
+        } else if (node instanceof Node.Call c) {
+            out.append(c.function().getFunctionName()).append('(');
+            for (int i = 0; i < c.arguments().size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                print(c.arguments().get(i), out);
+            }
+            out.append(')');
+        }
+    }
+}
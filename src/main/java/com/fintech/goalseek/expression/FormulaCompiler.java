@@ -0,0 +1,32 @@
+package com.fintech.goalseek.expression;
+
+import java.util.List;
+
+/**
+ * Evaluation backend that turns a formula expression into a {@link CompiledFormula}.
+ * The active backend is selected with {@code goalseek.evaluator.backend}.
+ */
+public interface FormulaCompiler {
+
+    /**
+     * Compile an expression over the given variables, in slot order.
+     *
+     * @throws IllegalArgumentException if the expression is not valid
+     */
+    CompiledFormula compile(String expression, List<String> variables);
+
+    /**
+     * Compile an already parsed or derived expression tree.
+     * Backends that work on text compile the printed form of the tree.
+     *
+     * @throws IllegalArgumentException if the tree cannot be compiled
+     */
+    default CompiledFormula compile(Node root, List<String> variables) {
+        return compile(ExpressionPrinter.print(root), variables);
+    }
+
+    /**
+     * Get the name of this backend.
+     */
+    String getName();
+}
@@ -0,0 +1,14 @@
+package com.fintech.goalseek.expression;
+
+/**
+ * Entry point implemented by classes generated by {@link BytecodeFormulaCompiler}.
+ */
+public interface FormulaKernel {
+
+    double evaluate(double[] values);
+
+    /**
+     * Evaluate rows {@code from} to {@code to} (exclusive) of the columns into {@code results}.
+     */
+    void evaluateColumns(double[][] columns, double[] results, int from, int to);
+}
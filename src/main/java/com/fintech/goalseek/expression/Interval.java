@@ -0,0 +1,70 @@
+package com.fintech.goalseek.expression;
+
+/**
+ * A closed interval of real numbers for range analysis, possibly unbounded or empty.
+ * Operations round outward, so the result of an operation always contains every
+ * value the operation can produce on its operands.
+ */
+public record Interval(double lower, double upper) {
+
+    public static final Interval ENTIRE = new Interval(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    /**
+     * The interval containing no value, the range of an expression that is undefined everywhere.
+     */
+    public static final Interval EMPTY = new Interval(Double.NaN, Double.NaN);
+
+    public static Interval point(double value) {
+        return Double.isNaN(value) ? EMPTY : new Interval(value, value);
+    }
+
+    /**
+     * The interval between two bounds in either order.
+     */
+    public static Interval of(double a, double b) {
+        return a <= b ? new Interval(a, b) : new Interval(b, a);
+    }
+
+    /**
+     * An interval computed from inexact bounds: widened by an ulp on each side, with a NaN
+     * bound taken as unbounded.
+     */
+    static Interval rounded(double lower, double upper) {
+        return new Interval(
+                Double.isNaN(lower) ? Double.NEGATIVE_INFINITY : Math.nextDown(lower),
+                Double.isNaN(upper) ? Double.POSITIVE_INFINITY : Math.nextUp(upper));
+    }
+
+    public boolean isEmpty() {
+        return Double.isNaN(lower);
+    }
+
+    public boolean contains(double value) {
+        return lower <= value && value <= upper;
+    }
+
+    public boolean containsZero() {
+        return contains(0);
+    }
+
+    /**
+     * Whether this interval is a single integer.
+     */
+    boolean isIntegerPoint() {
+        return lower == upper && lower == Math.rint(lower) && Double.isFinite(lower);
+    }
+
+    /**
+     * Restrict the interval to [min, max], or return {@link #EMPTY} if they do not overlap.
+     */
+    Interval clamp(double min, double max) {
+        double lo = Math.max(lower, min);
+        double hi = Math.min(upper, max);
+        return lo <= hi ? new Interval(lo, hi) : EMPTY;
+    }
+
+    @Override
+    public String toString() {
+        return isEmpty() ? "[]" : "[" + lower + ", " + upper + "]";
+    }
+}
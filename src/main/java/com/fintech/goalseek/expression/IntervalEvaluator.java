@@ -0,0 +1,195 @@
+package com.fintech.goalseek.expression;
+
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Interval evaluation of {@link Node} trees: bounds the values an expression can take
+ * while one variable ranges over an interval.
+ * The result is conservative. It may be wider than the true range but never misses a
+ * value the expression can produce; points where the expression is undefined are ignored.
+ */
+public final class IntervalEvaluator {
+
+    private IntervalEvaluator() {
+    }
+
+    /**
+     * Bound the values of the node for every value of the variable in the interval.
+     * Any other variable left in the tree is treated as unbounded.
+     */
+    public static Interval evaluate(Node node, String variable, Interval value) {
+        if (node instanceof Node.Constant c) {
+            return Interval.point(c.value());
+        } else if (node instanceof Node.Variable v) {
+            return v.name().equals(variable) ? value : Interval.ENTIRE;
+        } else if (node instanceof Node.Negate n) {
+            return negate(evaluate(n.operand(), variable, value));
+        } else if (node instanceof Node.Binary b) {
+            Interval left = evaluate(b.left(), variable, value);
+            Interval right = evaluate(b.right(), variable, value);
+            if (left.isEmpty() || right.isEmpty()) {
+                return Interval.EMPTY;
+            }
+            return switch (b.operator()) {
+                case ADD -> Interval.rounded(left.lower() + right.lower(), left.upper() + right.upper());
+                case SUBTRACT -> Interval.rounded(left.lower() - right.upper(), left.upper() - right.lower());
+                case MULTIPLY -> multiply(left, right);
+                case DIVIDE -> divide(left, right);
+                case POWER -> power(left, right);
+                case MODULO -> modulo(left, right);
+            };
+        } else if (node instanceof Node.Call c) {
+            return call(c, variable, value);
+        }
+        return Interval.ENTIRE;
+    }
+
+    private static Interval call(Node.Call c, String variable, Interval value) {
+        List<Node> arguments = c.arguments();
+        Interval x = evaluate(arguments.get(0), variable, value);
+        if (x.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        return switch (c.function()) {
+            case SIN, COS -> new Interval(-1, 1);
+            case TAN, COT -> Interval.ENTIRE;
+            case ASIN -> increasing(Math::asin, x.clamp(-1, 1));
+            case ACOS -> decreasing(Math::acos, x.clamp(-1, 1));
+            case ATAN -> increasing(Math::atan, x);
+            case SINH -> increasing(Math::sinh, x);
+            case COSH -> even(Math::cosh, x);
+            case TANH -> increasing(Math::tanh, x);
+            case ABS -> even(Math::abs, x);
+            case LOG -> increasing(Math::log, x.clamp(0, Double.POSITIVE_INFINITY));
+            case LOG10 -> increasing(Math::log10, x.clamp(0, Double.POSITIVE_INFINITY));
+            case LOG2 -> increasing(MathOperations::log2, x.clamp(0, Double.POSITIVE_INFINITY));
+            case LOG1P -> increasing(Math::log1p, x.clamp(-1, Double.POSITIVE_INFINITY));
+            case CEIL -> increasing(Math::ceil, x);
+            case FLOOR -> increasing(Math::floor, x);
+            case SQRT -> increasing(Math::sqrt, x.clamp(0, Double.POSITIVE_INFINITY));
+            case CBRT -> increasing(Math::cbrt, x);
+            case POW -> {
+                Interval y = evaluate(arguments.get(1), variable, value);
+                yield y.isEmpty() ? Interval.EMPTY : power(x, y);
+            }
+            case EXP -> increasing(Math::exp, x);
+            case EXPM1 -> increasing(Math::expm1, x);
+            case SIGNUM -> increasing(MathOperations::signum, x);
+        };
+    }
+
+    private static Interval negate(Interval x) {
+        return x.isEmpty() ? Interval.EMPTY : new Interval(-x.upper(), -x.lower());
+    }
+
+    private static Interval increasing(DoubleUnaryOperator f, Interval x) {
+        if (x.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        return Interval.rounded(f.applyAsDouble(x.lower()), f.applyAsDouble(x.upper()));
+    }
+
+    private static Interval decreasing(DoubleUnaryOperator f, Interval x) {
+        if (x.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        return Interval.rounded(f.applyAsDouble(x.upper()), f.applyAsDouble(x.lower()));
+    }
+
+    /**
+     * An even function that increases with |x|.
+     */
+    private static Interval even(DoubleUnaryOperator f, Interval x) {
+        double far = Math.max(Math.abs(x.lower()), Math.abs(x.upper()));
+        double near = x.containsZero() ? 0 : Math.min(Math.abs(x.lower()), Math.abs(x.upper()));
+        return Interval.rounded(f.applyAsDouble(near), f.applyAsDouble(far));
+    }
+
+    private static Interval multiply(Interval a, Interval b) {
+        double p1 = product(a.lower(), b.lower());
+        double p2 = product(a.lower(), b.upper());
+        double p3 = product(a.upper(), b.lower());
+        double p4 = product(a.upper(), b.upper());
+        return Interval.rounded(Math.min(Math.min(p1, p2), Math.min(p3, p4)),
+                Math.max(Math.max(p1, p2), Math.max(p3, p4)));
+    }
+
+    /**
+     * A product of interval bounds, where zero times an infinite bound is zero
+     * because the infinity only stands for arbitrarily large finite values.
+     */
+    private static double product(double a, double b) {
+        return a == 0 || b == 0 ? 0 : a * b;
+    }
+
+    private static Interval divide(Interval a, Interval b) {
+        if (b.lower() == 0 && b.upper() == 0) {
+            return Interval.EMPTY;
+        }
+        if (b.containsZero()) {
+            return Interval.ENTIRE;
+        }
+        double q1 = a.lower() / b.lower();
+        double q2 = a.lower() / b.upper();
+        double q3 = a.upper() / b.lower();
+        double q4 = a.upper() / b.upper();
+        return Interval.rounded(Math.min(Math.min(q1, q2), Math.min(q3, q4)),
+                Math.max(Math.max(q1, q2), Math.max(q3, q4)));
+    }
+
+    private static Interval modulo(Interval a, Interval b) {
+        if (b.lower() == 0 && b.upper() == 0) {
+            return Interval.EMPTY;
+        }
+        double limit = Math.max(Math.abs(b.lower()), Math.abs(b.upper()));
+        if (a.lower() >= 0) {
+            return new Interval(0, Math.min(limit, a.upper()));
+        } else if (a.upper() <= 0) {
+            return new Interval(Math.max(-limit, a.lower()), 0);
+        }
+        return new Interval(-limit, limit);
+    }
+
+    private static Interval power(Interval base, Interval exponent) {
+        if (exponent.isIntegerPoint()) {
+            return integerPower(base, exponent.lower());
+        }
+        if (exponent.lower() == exponent.upper()) {
+            // A negative base with a fractional exponent is undefined, so only x >= 0 counts.
+            base = base.clamp(0, Double.POSITIVE_INFINITY);
+            if (base.isEmpty()) {
+                return Interval.EMPTY;
+            }
+        } else if (base.lower() < 0) {
+            return Interval.ENTIRE;
+        }
+        double p1 = Math.pow(base.lower(), exponent.lower());
+        double p2 = Math.pow(base.lower(), exponent.upper());
+        double p3 = Math.pow(base.upper(), exponent.lower());
+        double p4 = Math.pow(base.upper(), exponent.upper());
+        return Interval.rounded(Math.min(Math.min(p1, p2), Math.min(p3, p4)),
+                Math.max(Math.max(p1, p2), Math.max(p3, p4)));
+    }
+
+    private static Interval integerPower(Interval base, double n) {
+        if (n == 0) {
+            return Interval.point(1);
+        }
+        boolean odd = Math.abs(n % 2) == 1;
+        if (n < 0) {
+            // x^n for negative n is monotone on each side of zero and unbounded near it.
+            if (base.containsZero()) {
+                double far = Math.max(Math.abs(base.lower()), Math.abs(base.upper()));
+                return odd ? Interval.ENTIRE : Interval.rounded(Math.pow(far, n), Double.POSITIVE_INFINITY);
+            }
+            double a = Math.pow(base.lower(), n);
+            double b = Math.pow(base.upper(), n);
+            return Interval.rounded(Math.min(a, b), Math.max(a, b));
+        }
+        if (odd) {
+            return increasing(x -> Math.pow(x, n), base);
+        }
+        return even(x -> Math.pow(x, n), base);
+    }
+}
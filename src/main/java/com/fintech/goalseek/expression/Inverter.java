@@ -0,0 +1,108 @@
+package com.fintech.goalseek.expression;
+
+import java.util.Optional;
+
+import static com.fintech.goalseek.expression.Nodes.*;
+
+/**
+ * Symbolic isolation of a variable in {@code f(..., x, ...) = y}.
+ *
+ * <p>The variable must occur exactly once. The equation is unwound from the root
+ * down to the variable, applying the inverse of each operation to the right-hand
+ * side. Functions that are not one-to-one are inverted on their principal branch
+ * ({@code asin}, {@code acos}, {@code atan}, positive roots), so callers should
+ * check the solution by evaluating the original formula.
+ */
+public final class Inverter {
+
+    private Inverter() {
+    }
+
+    /**
+     * Express {@code variable} in terms of {@code target} and the other variables.
+     *
+     * @param root     the formula tree
+     * @param variable the variable to isolate
+     * @param target   the node standing for the formula's value, usually a variable
+     * @return the inverse, or empty if the variable cannot be isolated
+     */
+    public static Optional<Node> invert(Node root, String variable, Node target) {
+        if (!dependsOn(root, variable)) {
+            return Optional.empty();
+        }
+        Node node = root;
+        Node value = target;
+        while (!(node instanceof Node.Variable)) {
+            if (node instanceof Node.Negate n) {
+                value = negate(value);
+                node = n.operand();
+            } else if (node instanceof Node.Binary b) {
+                boolean inLeft = dependsOn(b.left(), variable);
+                boolean inRight = dependsOn(b.right(), variable);
+                if (inLeft == inRight) {
+                    return Optional.empty();
+                }
+                Node other = inLeft ? b.right() : b.left();
+                Node inverse = invertBinary(b.operator(), inLeft, value, other);
+                if (inverse == null) {
+                    return Optional.empty();
+                }
+                value = inverse;
+                node = inLeft ? b.left() : b.right();
+            } else if (node instanceof Node.Call c) {
+                if (c.function() == MathFunction.POW) {
+                    return invert(new Node.Binary(Operator.POWER, c.arguments().get(0), c.arguments().get(1)),
+                            variable, target);
+                }
+                Node inverse = invertCall(c.function(), value);
+                if (inverse == null) {
+                    return Optional.empty();
+                }
+                value = inverse;
+                node = c.arguments().get(0);
+            } else {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(value);
+    }
+
+    /**
+     * Solve {@code x op other = value} (or {@code other op x = value}) for x.
+     */
+    private static Node invertBinary(Operator operator, boolean inLeft, Node value, Node other) {
+        return switch (operator) {
+            case ADD -> subtract(value, other);
+            case SUBTRACT -> inLeft ? add(value, other) : subtract(other, value);
+            case MULTIPLY -> divide(value, other);
+            case DIVIDE -> inLeft ? multiply(value, other) : divide(other, value);
+            case POWER -> inLeft
+                    ? power(value, divide(ONE, other))
+                    : divide(call(MathFunction.LOG, value), call(MathFunction.LOG, other));
+            case MODULO -> null;
+        };
+    }
+
+    /**
+     * Solve {@code f(x) = value} for x.
+     */
+    private static Node invertCall(MathFunction function, Node value) {
+        return switch (function) {
+            case EXP -> call(MathFunction.LOG, value);
+            case LOG -> call(MathFunction.EXP, value);
+            case EXPM1 -> call(MathFunction.LOG1P, value);
+            case LOG1P -> call(MathFunction.EXPM1, value);
+            case LOG10 -> power(constant(10), value);
+            case LOG2 -> power(constant(2), value);
+            case SQRT -> power(value, constant(2));
+            case CBRT -> power(value, constant(3));
+            case SIN -> call(MathFunction.ASIN, value);
+            case COS -> call(MathFunction.ACOS, value);
+            case TAN -> call(MathFunction.ATAN, value);
+            case ASIN -> call(MathFunction.SIN, value);
+            case ACOS -> call(MathFunction.COS, value);
+            case ATAN -> call(MathFunction.TAN, value);
+            default -> null;
+        };
+    }
+}
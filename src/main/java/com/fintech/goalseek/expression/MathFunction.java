@@ -0,0 +1,82 @@
+package com.fintech.goalseek.expression;
+
+/**
+ * Built-in math functions available in formula expressions.
+ * Each function maps to the static method that implements it, using the same
+ * semantics as exp4j's built-in functions.
+ */
+public enum MathFunction {
+
+    SIN("sin", 1, Owner.MATH),
+    COS("cos", 1, Owner.MATH),
+    TAN("tan", 1, Owner.MATH),
+    COT("cot", 1, Owner.OPERATIONS),
+    ASIN("asin", 1, Owner.MATH),
+    ACOS("acos", 1, Owner.MATH),
+    ATAN("atan", 1, Owner.MATH),
+    SINH("sinh", 1, Owner.MATH),
+    COSH("cosh", 1, Owner.MATH),
+    TANH("tanh", 1, Owner.MATH),
+    ABS("abs", 1, Owner.MATH),
+    LOG("log", 1, Owner.MATH),
+    LOG10("log10", 1, Owner.MATH),
+    LOG2("log2", 1, Owner.OPERATIONS),
+    LOG1P("log1p", 1, Owner.MATH),
+    CEIL("ceil", 1, Owner.MATH),
+    FLOOR("floor", 1, Owner.MATH),
+    SQRT("sqrt", 1, Owner.MATH),
+    CBRT("cbrt", 1, Owner.MATH),
+    POW("pow", 2, Owner.MATH),
+    EXP("exp", 1, Owner.MATH),
+    EXPM1("expm1", 1, Owner.MATH),
+    SIGNUM("signum", 1, Owner.OPERATIONS);
+
+    /**
+     * Class that holds the static implementation of a function.
+     */
+    public enum Owner {
+        MATH("java/lang/Math"),
+        OPERATIONS("com/fintech/goalseek/expression/MathOperations");
+
+        private final String internalName;
+
+        Owner(String internalName) {
+            this.internalName = internalName;
+        }
+
+        public String getInternalName() {
+            return internalName;
+        }
+    }
+
+    private final String functionName;
+    private final int arity;
+    private final Owner owner;
+
+    MathFunction(String functionName, int arity, Owner owner) {
+        this.functionName = functionName;
+        this.arity = arity;
+        this.owner = owner;
+    }
+
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    public Owner getOwner() {
+        return owner;
+    }
+
+    public static MathFunction fromName(String name) {
+        for (MathFunction function : values()) {
+            if (function.functionName.equals(name)) {
+                return function;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported function: " + name);
+    }
+}
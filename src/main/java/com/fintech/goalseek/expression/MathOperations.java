@@ -0,0 +1,49 @@
+package com.fintech.goalseek.expression;
+
+/**
+ * Static helpers for operations whose exp4j semantics differ from plain JVM arithmetic.
+ * Generated formula classes call into these so every backend fails the same way,
+ * e.g. division by zero raises an {@link ArithmeticException} instead of yielding infinity.
+ */
+public final class MathOperations {
+
+    private static final double LOG_2 = Math.log(2d);
+
+    private MathOperations() {
+    }
+
+    public static double divide(double dividend, double divisor) {
+        if (divisor == 0d) {
+            throw new ArithmeticException("Division by zero!");
+        }
+        return dividend / divisor;
+    }
+
+    public static double modulo(double dividend, double divisor) {
+        if (divisor == 0d) {
+            throw new ArithmeticException("Division by zero!");
+        }
+        return dividend % divisor;
+    }
+
+    public static double cot(double x) {
+        double tan = Math.tan(x);
+        if (tan == 0d) {
+            throw new ArithmeticException("Division by zero in cotangent!");
+        }
+        return 1d / tan;
+    }
+
+    public static double log2(double x) {
+        return Math.log(x) / LOG_2;
+    }
+
+    public static double signum(double x) {
+        if (x > 0) {
+            return 1;
+        } else if (x < 0) {
+            return -1;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.fintech.goalseek.expression;
+
+import java.util.List;
+
+/**
+ * Abstract syntax tree of a parsed formula expression.
+ * Nodes are immutable and can be shared between trees.
+ */
+public sealed interface Node permits Node.Constant, Node.Variable, Node.Negate, Node.Binary, Node.Call {
+
+    /**
+     * A numeric literal or a built-in constant such as {@code pi}.
+     */
+    record Constant(double value) implements Node {
+    }
+
+    /**
+     * A reference to a formula variable.
+     */
+    record Variable(String name) implements Node {
+    }
+
+    /**
+     * Unary minus.
+     */
+    record Negate(Node operand) implements Node {
+    }
+
+    /**
+     * A binary arithmetic operation.
+     */
+    record Binary(Operator operator, Node left, Node right) implements Node {
+    }
+
+    /**
+     * A call to one of the built-in math functions.
+     */
+    record Call(MathFunction function, List<Node> arguments) implements Node {
+    }
+}
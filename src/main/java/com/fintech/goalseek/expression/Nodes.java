@@ -0,0 +1,142 @@
+package com.fintech.goalseek.expression;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Factory methods for building {@link Node} trees.
+ * Operations on constants are folded and trivial identities such as {@code x * 1}
+ * or {@code x + 0} are simplified away, which keeps derived trees small.
+ */
+public final class Nodes {
+
+    public static final Node ZERO = new Node.Constant(0);
+    public static final Node ONE = new Node.Constant(1);
+
+    private Nodes() {
+    }
+
+    public static Node constant(double value) {
+        return new Node.Constant(value);
+    }
+
+    public static Node variable(String name) {
+        return new Node.Variable(name);
+    }
+
+    public static Node negate(Node operand) {
+        if (operand instanceof Node.Constant c) {
+            return constant(-c.value());
+        }
+        if (operand instanceof Node.Negate n) {
+            return n.operand();
+        }
+        return new Node.Negate(operand);
+    }
+
+    public static Node add(Node left, Node right) {
+        if (isConstant(left, 0)) return right;
+        if (isConstant(right, 0)) return left;
+        if (left instanceof Node.Constant a && right instanceof Node.Constant b) {
+            return constant(a.value() + b.value());
+        }
+        return new Node.Binary(Operator.ADD, left, right);
+    }
+
+    public static Node subtract(Node left, Node right) {
+        if (isConstant(right, 0)) return left;
+        if (isConstant(left, 0)) return negate(right);
+        if (left instanceof Node.Constant a && right instanceof Node.Constant b) {
+            return constant(a.value() - b.value());
+        }
+        return new Node.Binary(Operator.SUBTRACT, left, right);
+    }
+
+    public static Node multiply(Node left, Node right) {
+        if (isConstant(left, 0) || isConstant(right, 0)) return ZERO;
+        if (isConstant(left, 1)) return right;
+        if (isConstant(right, 1)) return left;
+        if (isConstant(left, -1)) return negate(right);
+        if (isConstant(right, -1)) return negate(left);
+        if (left instanceof Node.Constant a && right instanceof Node.Constant b) {
+            return constant(a.value() * b.value());
+        }
+        return new Node.Binary(Operator.MULTIPLY, left, right);
+    }
+
+    public static Node divide(Node left, Node right) {
+        if (isConstant(right, 1)) return left;
+        if (isConstant(left, 0) && !isConstant(right, 0)) return ZERO;
+        if (left instanceof Node.Constant a && right instanceof Node.Constant b && b.value() != 0) {
+            return constant(a.value() / b.value());
+        }
+        return new Node.Binary(Operator.DIVIDE, left, right);
+    }
+
+    public static Node power(Node base, Node exponent) {
+        if (isConstant(exponent, 0)) return ONE;
+        if (isConstant(exponent, 1)) return base;
+        if (base instanceof Node.Constant a && exponent instanceof Node.Constant b) {
+            return constant(Math.pow(a.value(), b.value()));
+        }
+        return new Node.Binary(Operator.POWER, base, exponent);
+    }
+
+    public static Node call(MathFunction function, Node... arguments) {
+        return new Node.Call(function, List.of(arguments));
+    }
+
+    /**
+     * Replace the given variables with constants, folding the operations that become constant.
+     */
+    public static Node substitute(Node node, Map<String, Double> values) {
+        if (node instanceof Node.Variable v) {
+            Double value = values.get(v.name());
+            return value != null ? constant(value) : node;
+        } else if (node instanceof Node.Negate n) {
+            return negate(substitute(n.operand(), values));
+        } else if (node instanceof Node.Binary b) {
+            Node left = substitute(b.left(), values);
+            Node right = substitute(b.right(), values);
+            return switch (b.operator()) {
+                case ADD -> add(left, right);
+                case SUBTRACT -> subtract(left, right);
+                case MULTIPLY -> multiply(left, right);
+                case DIVIDE -> divide(left, right);
+                case POWER -> power(left, right);
+                case MODULO -> new Node.Binary(Operator.MODULO, left, right);
+            };
+        } else if (node instanceof Node.Call c) {
+            Node[] arguments = new Node[c.arguments().size()];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = substitute(c.arguments().get(i), values);
+            }
+            return call(c.function(), arguments);
+        }
+        return node;
+    }
+
+    /**
+     * Whether the tree references the given variable.
+     */
+    public static boolean dependsOn(Node node, String variable) {
+        if (node instanceof Node.Variable v) {
+            return v.name().equals(variable);
+        } else if (node instanceof Node.Negate n) {
+            return dependsOn(n.operand(), variable);
+        } else if (node instanceof Node.Binary b) {
+            return dependsOn(b.left(), variable) || dependsOn(b.right(), variable);
+        } else if (node instanceof Node.Call c) {
+            for (Node argument : c.arguments()) {
+                if (dependsOn(argument, variable)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isConstant(Node node, double value) {
+        return node instanceof Node.Constant c && c.value() == value;
+    }
+}
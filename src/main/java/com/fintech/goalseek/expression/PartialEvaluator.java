@@ -0,0 +1,170 @@
+package com.fintech.goalseek.expression;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.fintech.goalseek.expression.Nodes.dependsOn;
+
+/**
+ * Splits a {@link Node} tree into the part that depends on one variable and the part that does not.
+ *
+ * <p>Every maximal subtree that does not reference the variable is hoisted into an invariant
+ * binding, which can be computed once when the other variables are known. Subtrees that occur
+ * more than once are bound once and referenced by name: invariant ones always, variant ones only
+ * if they contain a power or a function call, since binding a cheap subtree costs more than it saves.
+ * What is left is the residual: the variant bindings and a result expression over the variable,
+ * the other variables and the bound names.
+ *
+ * <p>The split never reassociates or simplifies, so evaluating the bindings in order and then
+ * the result gives exactly the value of the original tree.
+ */
+public final class PartialEvaluator {
+
+    private PartialEvaluator() {
+    }
+
+    /**
+     * A named subexpression.
+     */
+    public record Binding(String name, Node value) {
+    }
+
+    /**
+     * The split of a tree. Each binding may reference the bindings before it.
+     *
+     * @param invariant bindings that do not depend on the variable
+     * @param residual  bindings that do, to be computed on every evaluation
+     * @param result    the tree with the bound subtrees replaced by their names
+     */
+    public record Split(List<Binding> invariant, List<Binding> residual, Node result) {
+
+        /**
+         * Whether the split found nothing to hoist or share, so the result is the original tree.
+         */
+        public boolean isTrivial() {
+            return invariant.isEmpty() && residual.isEmpty();
+        }
+    }
+
+    /**
+     * Split a tree with respect to a variable.
+     *
+     * @param reserved names the bindings must not take, usually the formula's variables
+     */
+    public static Split split(Node root, String variable, Collection<String> reserved) {
+        Splitter splitter = new Splitter(variable, reserved);
+        countOccurrences(root, splitter.occurrences);
+        Node result = splitter.rewrite(root, false);
+        return new Split(List.copyOf(splitter.invariant), List.copyOf(splitter.residual), result);
+    }
+
+    private static void countOccurrences(Node node, Map<Node, Integer> occurrences) {
+        if (isLeaf(node)) {
+            return;
+        }
+        occurrences.merge(node, 1, Integer::sum);
+        if (node instanceof Node.Negate n) {
+            countOccurrences(n.operand(), occurrences);
+        } else if (node instanceof Node.Binary b) {
+            countOccurrences(b.left(), occurrences);
+            countOccurrences(b.right(), occurrences);
+        } else if (node instanceof Node.Call c) {
+            for (Node argument : c.arguments()) {
+                countOccurrences(argument, occurrences);
+            }
+        }
+    }
+
+    private static boolean isLeaf(Node node) {
+        return node instanceof Node.Constant || node instanceof Node.Variable;
+    }
+
+    /**
+     * Whether a subtree is worth binding when it repeats: it calls a function or raises a power.
+     */
+    private static boolean isExpensive(Node node) {
+        if (node instanceof Node.Call) {
+            return true;
+        } else if (node instanceof Node.Negate n) {
+            return isExpensive(n.operand());
+        } else if (node instanceof Node.Binary b) {
+            return b.operator() == Operator.POWER || isExpensive(b.left()) || isExpensive(b.right());
+        }
+        return false;
+    }
+
+    private static final class Splitter {
+
+        private final String variable;
+        private final Collection<String> reserved;
+        private final Map<Node, Integer> occurrences = new HashMap<>();
+        private final Map<Node, Node.Variable> bound = new HashMap<>();
+        private final List<Binding> invariant = new ArrayList<>();
+        private final List<Binding> residual = new ArrayList<>();
+
+        Splitter(String variable, Collection<String> reserved) {
+            this.variable = variable;
+            this.reserved = reserved;
+        }
+
+        /**
+         * Rewrite a subtree, binding it if it is a maximal invariant subtree or a shared one.
+         *
+         * @param enclosed whether the parent is invariant, so this subtree is not maximal
+         */
+        Node rewrite(Node node, boolean enclosed) {
+            if (isLeaf(node)) {
+                return node;
+            }
+            Node.Variable name = bound.get(node);
+            if (name != null) {
+                return name;
+            }
+
+            boolean isInvariant = !dependsOn(node, variable);
+            Node rebuilt;
+            if (node instanceof Node.Negate n) {
+                rebuilt = new Node.Negate(rewrite(n.operand(), isInvariant));
+            } else if (node instanceof Node.Binary b) {
+                rebuilt = new Node.Binary(b.operator(), rewrite(b.left(), isInvariant),
+                        rewrite(b.right(), isInvariant));
+            } else {
+                Node.Call c = (Node.Call) node;
+                List<Node> arguments = new ArrayList<>(c.arguments().size());
+                for (Node argument : c.arguments()) {
+                    arguments.add(rewrite(argument, isInvariant));
+                }
+                rebuilt = new Node.Call(c.function(), List.copyOf(arguments));
+            }
+
+            boolean shared = occurrences.get(node) > 1 && (isInvariant || isExpensive(node));
+            if (!(isInvariant && !enclosed) && !shared) {
+                return rebuilt;
+            }
+            name = new Node.Variable(freshName());
+            (isInvariant ? invariant : residual).add(new Binding(name.name(), rebuilt));
+            bound.put(node, name);
+            return name;
+        }
+
+        private String freshName() {
+            String prefix = "_t";
+            while (containsPrefix(prefix)) {
+                prefix = prefix + "_";
+            }
+            return prefix + (invariant.size() + residual.size());
+        }
+
+        private boolean containsPrefix(String prefix) {
+            for (String name : reserved) {
+                if (name.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.fintech.goalseek.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A formula compiled for evaluation with one variable varying, from a {@link PartialEvaluator} split.
+ *
+ * <p>Binding the other variables computes the invariant subexpressions once; the bound function
+ * then evaluates only the residual. Each binding and the result are compiled by the
+ * {@link FormulaCompiler} backend over the formula's variables followed by the binding names,
+ * and write to or read from the same value array. Instances are thread-safe; bound functions are not.
+ */
+public final class ResidualFormula {
+
+    private final List<String> variables;
+    private final int variableSlot;
+    private final int slotCount;
+    private final CompiledFormula[] invariant;
+    private final CompiledFormula[] residual;
+    private final CompiledFormula result;
+
+    private ResidualFormula(List<String> variables, int variableSlot, int slotCount,
+                            CompiledFormula[] invariant, CompiledFormula[] residual, CompiledFormula result) {
+        this.variables = variables;
+        this.variableSlot = variableSlot;
+        this.slotCount = slotCount;
+        this.invariant = invariant;
+        this.residual = residual;
+        this.result = result;
+    }
+
+    /**
+     * Split a tree with respect to one of its variables and compile the pieces.
+     *
+     * @param variables the formula's variables in slot order, including the varying one
+     * @throws IllegalArgumentException if a piece cannot be compiled
+     */
+    public static ResidualFormula compile(FormulaCompiler compiler, Node root, List<String> variables,
+                                          String variable) {
+        PartialEvaluator.Split split = PartialEvaluator.split(root, variable, variables);
+
+        // Binding names take the slots after the variables, in binding order
+        List<String> slots = new ArrayList<>(variables);
+        split.invariant().forEach(binding -> slots.add(binding.name()));
+        split.residual().forEach(binding -> slots.add(binding.name()));
+
+        CompiledFormula[] invariant = new CompiledFormula[split.invariant().size()];
+        for (int i = 0; i < invariant.length; i++) {
+            invariant[i] = compiler.compile(split.invariant().get(i).value(), slots);
+        }
+        CompiledFormula[] residual = new CompiledFormula[split.residual().size()];
+        for (int i = 0; i < residual.length; i++) {
+            residual[i] = compiler.compile(split.residual().get(i).value(), slots);
+        }
+        return new ResidualFormula(List.copyOf(variables), variables.indexOf(variable), slots.size(),
+                invariant, residual, compiler.compile(split.result(), slots));
+    }
+
+    /**
+     * Variables of this formula in slot order.
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Fix the other variables and compute the invariant subexpressions.
+     *
+     * @param values variable values in slot order; the varying variable's slot is ignored
+     * @return the formula as a function of the varying variable
+     * @throws ArithmeticException if an invariant subexpression divides by zero
+     */
+    public DoubleUnaryOperator bind(double[] values) {
+        double[] slots = new double[slotCount];
+        System.arraycopy(values, 0, slots, 0, variables.size());
+        int next = variables.size();
+        for (CompiledFormula binding : invariant) {
+            slots[next++] = binding.evaluate(slots);
+        }
+        int residualStart = next;
+
+        if (residual.length == 0) {
+            return x -> {
+                slots[variableSlot] = x;
+                return result.evaluate(slots);
+            };
+        }
+        return x -> {
+            slots[variableSlot] = x;
+            for (int i = 0; i < residual.length; i++) {
+                slots[residualStart + i] = residual[i].evaluate(slots);
+            }
+            return result.evaluate(slots);
+        };
+    }
+}
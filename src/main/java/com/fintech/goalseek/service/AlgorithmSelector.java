@@ -0,0 +1,197 @@
+package com.fintech.goalseek.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.goalseek.algorithm.GoalSeekAlgorithm;
+import com.fintech.goalseek.algorithm.GoalSeekResult;
+import com.fintech.goalseek.dto.AlgorithmStatistics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Learns which algorithm solves each formula and seek variable best, and orders the
+ * algorithms for later requests accordingly.
+ *
+ * <p>Every algorithm run is recorded in striped counters, so recording never takes a lock.
+ * An algorithm's score is its mean evaluations per successful run divided by its success
+ * rate: the expected cost of a success when failures are retried with the next algorithm.
+ * Algorithms with at least {@code goalseek.selection.min-samples} attempts are ordered by
+ * score; the rest follow in the default order. Since fallbacks only run when the leader
+ * fails, a random algorithm leads a fraction {@code goalseek.selection.explore-rate} of
+ * requests so that every algorithm keeps being measured.
+ *
+ * <p>If {@code goalseek.selection.store} names a file, the table is loaded from it on
+ * startup and written back on shutdown.
+ */
+@Component
+public class AlgorithmSelector {
+
+    private static final Logger log = LoggerFactory.getLogger(AlgorithmSelector.class);
+
+    private final Map<Key, Map<String, Counters>> table = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+
+    @Value("${goalseek.selection.enabled:true}")
+    private boolean enabled;
+
+    @Value("${goalseek.selection.min-samples:5}")
+    private int minSamples;
+
+    @Value("${goalseek.selection.explore-rate:0.05}")
+    private double exploreRate;
+
+    @Value("${goalseek.selection.store:}")
+    private String store;
+
+    public AlgorithmSelector(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Order the candidates, given in their default order, for a formula and seek variable.
+     */
+    public List<GoalSeekAlgorithm> order(String formulaName, String seekVariable,
+                                         List<GoalSeekAlgorithm> candidates) {
+        if (!enabled || candidates.size() < 2) {
+            return candidates;
+        }
+        Map<String, Counters> counters = table.get(new Key(formulaName, seekVariable));
+        List<GoalSeekAlgorithm> ordered = new ArrayList<>(candidates);
+        if (counters != null) {
+            // A stable sort keeps the default order among unscored algorithms and ties
+            ordered.sort(Comparator.comparingDouble(algorithm -> {
+                Counters c = counters.get(algorithm.getName());
+                return c != null && c.scored(minSamples) ? c.score() : Double.MAX_VALUE;
+            }));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < exploreRate) {
+            ordered.add(0, ordered.remove(random.nextInt(ordered.size())));
+        }
+        return ordered;
+    }
+
+    /**
+     * Record an algorithm run that returned a result.
+     */
+    public void record(String formulaName, String seekVariable, GoalSeekResult result) {
+        Counters counters = counters(formulaName, seekVariable, result.getAlgorithm());
+        counters.attempts.increment();
+        if (result.isConverged()) {
+            counters.successes.increment();
+            counters.successEvaluations.add(result.getEvaluations());
+        }
+    }
+
+    /**
+     * Record an algorithm run that threw.
+     */
+    public void recordFailure(String formulaName, String seekVariable, String algorithm) {
+        counters(formulaName, seekVariable, algorithm).attempts.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFormulaChanged(FormulaChangedEvent event) {
+        table.keySet().removeIf(key -> key.formulaName().equals(event.name()));
+    }
+
+    /**
+     * A snapshot of the table, best algorithm first within each formula and seek variable.
+     */
+    public List<AlgorithmStatistics> getStatistics() {
+        List<AlgorithmStatistics> statistics = new ArrayList<>();
+        table.forEach((key, counters) -> counters.forEach((algorithm, c) -> statistics.add(
+                AlgorithmStatistics.builder()
+                        .formulaName(key.formulaName())
+                        .seekVariable(key.seekVariable())
+                        .algorithm(algorithm)
+                        .attempts(c.attempts.sum())
+                        .successes(c.successes.sum())
+                        .successEvaluations(c.successEvaluations.sum())
+                        .score(c.scored(minSamples) ? c.score() : null)
+                        .build())));
+        statistics.sort(Comparator.comparing(AlgorithmStatistics::getFormulaName)
+                .thenComparing(AlgorithmStatistics::getSeekVariable)
+                .thenComparing(s -> s.getScore() != null ? s.getScore() : Double.MAX_VALUE)
+                .thenComparing(AlgorithmStatistics::getAlgorithm));
+        return statistics;
+    }
+
+    @PostConstruct
+    void load() {
+        if (store.isBlank() || !Files.exists(Path.of(store))) {
+            return;
+        }
+        try {
+            List<AlgorithmStatistics> saved = objectMapper.readValue(Path.of(store).toFile(),
+                    new TypeReference<List<AlgorithmStatistics>>() { });
+            for (AlgorithmStatistics s : saved) {
+                Counters counters = counters(s.getFormulaName(), s.getSeekVariable(), s.getAlgorithm());
+                counters.attempts.add(s.getAttempts());
+                counters.successes.add(s.getSuccesses());
+                counters.successEvaluations.add(s.getSuccessEvaluations());
+            }
+            log.info("Loaded {} algorithm statistics from {}", saved.size(), store);
+        } catch (IOException e) {
+            log.warn("Could not load algorithm statistics from {}: {}", store, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void save() {
+        if (store.isBlank()) {
+            return;
+        }
+        try {
+            objectMapper.writeValue(Path.of(store).toFile(), getStatistics());
+        } catch (IOException e) {
+            log.warn("Could not save algorithm statistics to {}: {}", store, e.getMessage());
+        }
+    }
+
+    private Counters counters(String formulaName, String seekVariable, String algorithm) {
+        return table.computeIfAbsent(new Key(formulaName, seekVariable), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(algorithm, name -> new Counters());
+    }
+
+    private record Key(String formulaName, String seekVariable) {
+    }
+
+    private static final class Counters {
+
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder successEvaluations = new LongAdder();
+
+        boolean scored(int minSamples) {
+            return attempts.sum() >= minSamples;
+        }
+
+        /**
+         * Mean evaluations per success over the success rate; infinite if it never succeeded.
+         */
+        double score() {
+            long s = successes.sum();
+            if (s == 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            return ((double) successEvaluations.sum() / s) / ((double) s / attempts.sum());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.fintech.goalseek.service;
+
+import com.fintech.goalseek.dto.BatchGoalSeekItem;
+import com.fintech.goalseek.dto.BatchGoalSeekRequest;
+import com.fintech.goalseek.dto.BatchGoalSeekResponse;
+import com.fintech.goalseek.dto.GoalSeekRequest;
+import com.fintech.goalseek.dto.GoalSeekResponse;
+import com.fintech.goalseek.entity.Formula;
+import com.fintech.goalseek.exception.GoalSeekException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Service for solving many goal seeks in one call.
+ *
+ * <p>Items are grouped by formula and seek variable so each formula is looked up
+ * and checked once per batch, then solved in parallel on the bounded goal seek pool.
+ * Every item gets its own status, so one bad row does not fail the batch.
+ */
+@Service
+public class BatchGoalSeekService {
+
+    private final GoalSeekService goalSeekService;
+    private final FormulaService formulaService;
+    private final Validator validator;
+    private final ForkJoinPool goalSeekPool;
+
+    @Value("${goalseek.batch.max-size:100000}")
+    private int maxBatchSize;
+
+    public BatchGoalSeekService(GoalSeekService goalSeekService, FormulaService formulaService,
+                                Validator validator, ForkJoinPool goalSeekPool) {
+        this.goalSeekService = goalSeekService;
+        this.formulaService = formulaService;
+        this.validator = validator;
+        this.goalSeekPool = goalSeekPool;
+    }
+
+    public BatchGoalSeekResponse seekGoals(BatchGoalSeekRequest batch) {
+        List<GoalSeekRequest> requests = batch.getRequests();
+        if (requests.size() > maxBatchSize) {
+            throw new GoalSeekException("Batch size " + requests.size() +
+                    " exceeds the maximum of " + maxBatchSize);
+        }
+
+        BatchGoalSeekItem[] results = new BatchGoalSeekItem[requests.size()];
+        Map<GroupKey, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            GoalSeekRequest request = requests.get(i);
+            String violations = validate(request);
+            if (violations != null) {
+                results[i] = error(i, violations);
+            } else {
+                groups.computeIfAbsent(new GroupKey(request.getFormulaName(), request.getSeekVariable()),
+                        key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<Task> tasks = new ArrayList<>(requests.size());
+        Map<String, Formula> formulas = new HashMap<>();
+        for (Map.Entry<GroupKey, List<Integer>> group : groups.entrySet()) {
+            Formula formula;
+            try {
+                formula = formulas.computeIfAbsent(group.getKey().formulaName(),
+                        formulaService::getFormulaEntityByName);
+                goalSeekService.validateSeekVariable(formula, group.getKey().seekVariable());
+            } catch (RuntimeException e) {
+                for (int index : group.getValue()) {
+                    results[index] = error(index, e.getMessage());
+                }
+                continue;
+            }
+            for (int index : group.getValue()) {
+                tasks.add(new Task(index, formula));
+            }
+        }
+
+        try {
+            goalSeekPool.submit(() -> tasks.parallelStream().forEach(task ->
+                    results[task.index()] = solve(task, requests.get(task.index())))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GoalSeekException("Batch goal seek was interrupted");
+        } catch (ExecutionException e) {
+            throw new GoalSeekException("Batch goal seek failed: " + e.getCause().getMessage());
+        }
+
+        int failed = (int) Arrays.stream(results)
+                .filter(item -> BatchGoalSeekItem.STATUS_ERROR.equals(item.getStatus()))
+                .count();
+        return BatchGoalSeekResponse.builder()
+                .total(results.length)
+                .succeeded(results.length - failed)
+                .failed(failed)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Validate and solve one item on the calling thread, for callers that process a batch
+     * item by item. Formulas are looked up once and kept in the given map.
+     */
+    BatchGoalSeekItem seekGoal(int index, GoalSeekRequest request, Map<String, Formula> formulas) {
+        String violations = validate(request);
+        if (violations != null) {
+            return error(index, violations);
+        }
+        Formula formula;
+        try {
+            formula = formulas.computeIfAbsent(request.getFormulaName(), formulaService::getFormulaEntityByName);
+            goalSeekService.validateSeekVariable(formula, request.getSeekVariable());
+        } catch (RuntimeException e) {
+            return error(index, e.getMessage());
+        }
+        return solve(new Task(index, formula), request);
+    }
+
+    private BatchGoalSeekItem solve(Task task, GoalSeekRequest request) {
+        try {
+            GoalSeekResponse response = goalSeekService.seekGoal(task.formula(), request);
+            return BatchGoalSeekItem.builder()
+                    .index(task.index())
+                    .status(BatchGoalSeekItem.STATUS_OK)
+                    .result(response)
+                    .build();
+        } catch (RuntimeException e) {
+            return error(task.index(), e.getMessage());
+        }
+    }
+
+    private String validate(GoalSeekRequest request) {
+        if (request == null) {
+            return "Request is required";
+        }
+        Set<ConstraintViolation<GoalSeekRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private BatchGoalSeekItem error(int index, String message) {
+        return BatchGoalSeekItem.builder()
+                .index(index)
+                .status(BatchGoalSeekItem.STATUS_ERROR)
+                .error(message)
+                .build();
+    }
+
+    private record GroupKey(String formulaName, String seekVariable) {
+    }
+
+    private record Task(int index, Formula formula) {
+    }
+}
@@ -0,0 +1,182 @@
+package com.fintech.goalseek.service;
+
+import com.fintech.goalseek.algorithm.ColumnarSolver;
+import com.fintech.goalseek.algorithm.ConvergencePolicy;
+import com.fintech.goalseek.algorithm.SolveBudget;
+import com.fintech.goalseek.dto.ColumnarGoalSeekRequest;
+import com.fintech.goalseek.dto.ColumnarGoalSeekResponse;
+import com.fintech.goalseek.dto.GoalSeekRequest;
+import com.fintech.goalseek.entity.Formula;
+import com.fintech.goalseek.exception.FormulaEvaluationException;
+import com.fintech.goalseek.exception.GoalSeekException;
+import com.fintech.goalseek.expression.CompiledFormula;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for solving many goal seeks of one formula and seek variable together.
+ *
+ * <p>Where {@link BatchGoalSeekService} solves each item on its own, here the rows are solved in
+ * lockstep by {@link ColumnarSolver}, which evaluates the compiled formula once per step over
+ * columns of values. Rows share the formula lookup, the compiled formula and the bracket search
+ * probes, and no per-row objects are created. There is no closed-form inverse, warm start or
+ * result cache on this path.
+ */
+@Service
+public class ColumnarGoalSeekService {
+
+    private final FormulaService formulaService;
+    private final FormulaEvaluator formulaEvaluator;
+    private final GoalSeekService goalSeekService;
+
+    @Value("${goalseek.max-iterations:1000}")
+    private int maxIterations;
+
+    @Value("${goalseek.default-lower-bound:-1000000}")
+    private double defaultLowerBound;
+
+    @Value("${goalseek.default-upper-bound:1000000}")
+    private double defaultUpperBound;
+
+    /**
+     * Most rows a columnar goal seek may have.
+     */
+    @Value("${goalseek.columnar.max-rows:100000}")
+    private int maxRows;
+
+    public ColumnarGoalSeekService(FormulaService formulaService, FormulaEvaluator formulaEvaluator,
+                                   GoalSeekService goalSeekService) {
+        this.formulaService = formulaService;
+        this.formulaEvaluator = formulaEvaluator;
+        this.goalSeekService = goalSeekService;
+    }
+
+    public ColumnarGoalSeekResponse seekGoals(ColumnarGoalSeekRequest request) {
+        Formula formula = formulaService.getFormulaEntityByName(request.getFormulaName());
+        goalSeekService.validateSeekVariable(formula, request.getSeekVariable());
+
+        double[] targets = request.getTargetValues();
+        int rows = targets.length;
+        if (rows > maxRows) {
+            throw new GoalSeekException("Columnar goal seek of " + rows + " rows exceeds the maximum of " + maxRows);
+        }
+        double lowerBound = request.getLowerBound() != null ? request.getLowerBound() : defaultLowerBound;
+        double upperBound = request.getUpperBound() != null ? request.getUpperBound() : defaultUpperBound;
+        if (!(lowerBound < upperBound)) {
+            throw new GoalSeekException("Lower bound " + lowerBound + " must be below upper bound " + upperBound);
+        }
+
+        CompiledFormula compiled = formulaEvaluator.compile(formula.getExpression(), formula.getVariables());
+        Columns columns = new Columns(compiled, request.getSeekVariable(), request.getKnownValues(), targets);
+
+        // The request's convergence, timeout and evaluation budget apply as they would to a single
+        // goal seek, with the budget shared by all rows
+        GoalSeekRequest settings = GoalSeekRequest.builder()
+                .formulaName(request.getFormulaName())
+                .seekVariable(request.getSeekVariable())
+                .convergence(request.getConvergence())
+                .tolerance(request.getTolerance())
+                .timeoutMillis(request.getTimeoutMillis())
+                .maxEvaluations(request.getMaxEvaluations())
+                .build();
+        ConvergencePolicy convergence = goalSeekService.convergencePolicy(formula, settings);
+        SolveBudget budget = goalSeekService.budget(settings);
+        double center = request.getInitialGuess() != null ? request.getInitialGuess() : Double.NaN;
+
+        ColumnarSolver.Result result = ColumnarSolver.solve(columns, targets, lowerBound, upperBound, center,
+                maxIterations / 4, maxIterations, convergence, budget);
+
+        double[] achieved = new double[rows];
+        double[] errors = new double[rows];
+        int succeeded = 0;
+        for (int row = 0; row < rows; row++) {
+            achieved[row] = targets[row] + result.residuals()[row];
+            errors[row] = Math.abs(result.residuals()[row]);
+            if (result.converged()[row]) {
+                succeeded++;
+            }
+        }
+        return ColumnarGoalSeekResponse.builder()
+                .formulaName(request.getFormulaName())
+                .seekVariable(request.getSeekVariable())
+                .rows(rows)
+                .succeeded(succeeded)
+                .failed(rows - succeeded)
+                .success(result.converged())
+                .computedValues(result.values())
+                .achievedValues(achieved)
+                .errors(errors)
+                .iterations(result.iterations())
+                .steps(result.steps())
+                .evaluations(result.evaluations())
+                .algorithm(ColumnarSolver.NAME)
+                .deadlineExceeded(result.deadlineExceeded())
+                .build();
+    }
+
+    /**
+     * The formula minus the target over the rows still being solved. The seek variable's
+     * column is the solver's array of points; the others are the known values.
+     */
+    private final class Columns implements ColumnarSolver.ColumnFunction {
+
+        private final CompiledFormula compiled;
+        private final double[][] columns;
+        private final int seekSlot;
+        private double[] targets;
+
+        Columns(CompiledFormula compiled, String seekVariable, Map<String, double[]> knownValues,
+                double[] targets) {
+            List<String> slots = compiled.getVariables();
+            this.compiled = compiled;
+            this.columns = new double[slots.size()][];
+            this.seekSlot = slots.indexOf(seekVariable);
+            this.targets = targets;
+            for (int i = 0; i < columns.length; i++) {
+                if (i == seekSlot) {
+                    continue;
+                }
+                double[] column = knownValues.get(slots.get(i));
+                if (column == null) {
+                    throw new FormulaEvaluationException("Missing values for variable: " + slots.get(i));
+                }
+                if (column.length != targets.length) {
+                    throw new FormulaEvaluationException("Variable " + slots.get(i) + " has " + column.length
+                            + " values but there are " + targets.length + " target values");
+                }
+                columns[i] = column;
+            }
+        }
+
+        @Override
+        public void evaluate(double[] x, double[] results) {
+            columns[seekSlot] = x;
+            formulaEvaluator.evaluate(compiled, columns, results);
+            for (int i = 0; i < results.length; i++) {
+                results[i] -= targets[i];
+            }
+        }
+
+        @Override
+        public void retain(int[] positions, int count) {
+            // New arrays, so the request's columns are never modified
+            for (int i = 0; i < columns.length; i++) {
+                if (i != seekSlot) {
+                    columns[i] = gather(columns[i], positions, count);
+                }
+            }
+            targets = gather(targets, positions, count);
+        }
+    }
+
+    private static double[] gather(double[] column, int[] positions, int count) {
+        double[] gathered = new double[count];
+        for (int i = 0; i < count; i++) {
+            gathered[i] = column[positions[i]];
+        }
+        return gathered;
+    }
+}
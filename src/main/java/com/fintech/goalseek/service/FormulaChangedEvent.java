@@ -0,0 +1,11 @@
+package com.fintech.goalseek.service;
+
+/**
+ * Published by {@link FormulaService} when a formula is created, updated or deleted.
+ * Caches holding the formula or anything derived from it listen for this event.
+ *
+ * @param name       name of the formula before the change
+ * @param expression expression of the formula before the change
+ */
+public record FormulaChangedEvent(String name, String expression) {
+}
@@ -1,38 +1,112 @@
 package com.fintech.goalseek.service;
 
+import com.fintech.goalseek.dto.CacheStatistics;
 import com.fintech.goalseek.exception.FormulaEvaluationException;
-import net.objecthunter.exp4j.Expression;
-import net.objecthunter.exp4j.ExpressionBuilder;
+import com.fintech.goalseek.expression.CompiledFormula;
+import com.fintech.goalseek.expression.Differentiator;
+import com.fintech.goalseek.expression.ExpressionParser;
+import com.fintech.goalseek.expression.FormulaCompiler;
+import com.fintech.goalseek.expression.Interval;
+import com.fintech.goalseek.expression.IntervalEvaluator;
+import com.fintech.goalseek.expression.Inverter;
+import com.fintech.goalseek.expression.Node;
+import com.fintech.goalseek.expression.Nodes;
+import com.fintech.goalseek.expression.ResidualFormula;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.DoubleUnaryOperator;
+import java.util.function.UnaryOperator;
 
 /**
  * Service for evaluating mathematical expressions.
- * Uses exp4j for parsing and evaluating formulas.
+ * Formulas are compiled by the configured {@link FormulaCompiler} backend;
+ * exp4j is the reference implementation.
+ *
+ * <p>Compiled formulas are kept in a bounded LRU cache keyed by the expression
+ * text and the variables in slot order, so each formula is compiled once rather
+ * than on every evaluation. Variable names are resolved to slots once, when a formula
+ * is compiled or a goal seek is {@link #bind bound}; evaluation then reads a
+ * {@code double[]} and looks nothing up by name. Goal seek bindings use the sorted
+ * order of the variable names. Symbolic derivatives and closed-form inverses are cached the same way, once per
+ * formula and seek variable. Parsed trees are kept for {@link #createRange range analysis}.
+ *
+ * <p>The functions of the seek variable handed to the solvers, the formula and its derivative,
+ * are compiled as {@link ResidualFormula residual formulas}: subexpressions of the known values
+ * are computed once when the function is created, repeated ones once per evaluation, and each
+ * evaluation computes only what depends on the seek variable.
+ *
+ * <p>Compilation, derivation and {@link #evaluate} calls are timed; evaluations of
+ * bound functions are not, since they are counted per solve by the caller. A residual formula,
+ * derivative or inverse the backend fails to compile is counted and treated as unavailable: goal
+ * seeks then evaluate the whole formula, or do without the derivative or the closed form.
  */
 @Service
 public class FormulaEvaluator {
 
+    private final FormulaCompiler formulaCompiler;
+    private final Map<CacheKey, CompiledFormula> compiledCache;
+    private final Map<DerivedKey, Optional<CompiledFormula>> derivedCache;
+    private final Map<DerivedKey, Optional<ResidualFormula>> residualCache;
+    private final Map<CacheKey, Optional<Node>> parsedCache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Timer compileTimer;
+    private final Timer derivativeTimer;
+    private final Timer inverseTimer;
+    private final Timer evaluateTimer;
+    private final Counter compileFailures;
+    private final Counter derivativeFailures;
+    private final Counter inverseFailures;
+
+    public FormulaEvaluator(FormulaCompiler formulaCompiler,
+                            @Value("${goalseek.evaluator.cache-size:256}") int cacheSize,
+                            MeterRegistry meterRegistry) {
+        this.formulaCompiler = formulaCompiler;
+        this.compiledCache = lruCache(cacheSize);
+        this.derivedCache = lruCache(cacheSize);
+        this.residualCache = lruCache(cacheSize);
+        this.parsedCache = lruCache(cacheSize);
+        this.compileTimer = compileTimer(meterRegistry, "formula");
+        this.derivativeTimer = compileTimer(meterRegistry, "derivative");
+        this.inverseTimer = compileTimer(meterRegistry, "inverse");
+        this.compileFailures = compileFailures(meterRegistry, "formula");
+        this.derivativeFailures = compileFailures(meterRegistry, "derivative");
+        this.inverseFailures = compileFailures(meterRegistry, "inverse");
+        this.evaluateTimer = Timer.builder("goalseek.evaluator.evaluate")
+                .description("Latency of evaluating a formula with all variable values given")
+                .tag("backend", formulaCompiler.getName())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     /**
      * Validate a formula expression with the given variables.
      */
     public void validateFormula(String expression, List<String> variables) {
         try {
-            ExpressionBuilder builder = new ExpressionBuilder(expression);
-            for (String variable : variables) {
-                builder.variable(variable);
-            }
-            Expression exp = builder.build();
-            
+            CompiledFormula compiled = compiled(expression, variables);
+
             // Set test values to validate
-            for (String variable : variables) {
-                exp.setVariable(variable, 1.0);
-            }
-            
-            double result = exp.evaluate();
+            double[] values = new double[compiled.getVariables().size()];
+            Arrays.fill(values, 1.0);
+
+            double result = compiled.evaluate(values);
             if (Double.isNaN(result) || Double.isInfinite(result)) {
                 throw new FormulaEvaluationException("Formula produces invalid result with test values");
             }
@@ -42,57 +116,473 @@ public class FormulaEvaluator {
     }
 
     /**
-     * Evaluate a formula with given variable values.
+     * Compile a formula over the given variables, resolving each variable to its slot once:
+     * {@code values[i]} of {@link #evaluate(CompiledFormula, double[])} is the value of
+     * {@code variables.get(i)}. The compilation is cached per expression and slot order.
+     *
+     * @throws FormulaEvaluationException if the expression is not valid
      */
-    public double evaluate(String expression, Map<String, Double> variables) {
+    public CompiledFormula compile(String expression, List<String> variables) {
         try {
-            ExpressionBuilder builder = new ExpressionBuilder(expression);
-            for (String variable : variables.keySet()) {
-                builder.variable(variable);
-            }
-            Expression exp = builder.build();
-            
-            for (Map.Entry<String, Double> entry : variables.entrySet()) {
-                exp.setVariable(entry.getKey(), entry.getValue());
-            }
-            
-            return exp.evaluate();
+            return compiled(expression, variables);
+        } catch (IllegalArgumentException e) {
+            throw new FormulaEvaluationException("Invalid formula: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Evaluate a compiled formula with its variable values in slot order.
+     * Nothing is allocated, so callers can reuse the value array.
+     */
+    public double evaluate(CompiledFormula compiled, double[] values) {
+        long start = System.nanoTime();
+        try {
+            return compiled.evaluate(values);
         } catch (Exception e) {
             throw new FormulaEvaluationException("Error evaluating formula: " + e.getMessage());
+        } finally {
+            evaluateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
+    /**
+     * Evaluate a compiled formula over columns of values: {@code columns[i][row]} is the value
+     * of slot i in that row. The backend runs one loop over the rows rather than a call per row.
+     *
+     * @return one result per row; rows that cannot be evaluated are NaN
+     */
+    public double[] evaluate(CompiledFormula compiled, double[][] columns, int rows) {
+        double[] results = new double[rows];
+        evaluate(compiled, columns, results);
+        return results;
+    }
+
+    /**
+     * Evaluate a compiled formula over columns of values into a caller's array, which has
+     * one entry per row, so that repeated evaluations over the same rows do not allocate.
+     */
+    public void evaluate(CompiledFormula compiled, double[][] columns, double[] results) {
+        long start = System.nanoTime();
+        try {
+            compiled.evaluate(columns, results);
+        } finally {
+            evaluateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Evaluate a formula with given variable values, for one-off evaluations.
+     * The values are copied into slots once; repeated evaluations should use
+     * {@link #compile} and {@link #evaluate(CompiledFormula, double[])} instead.
+     */
+    public double evaluate(String expression, Map<String, Double> variables) {
+        CompiledFormula compiled = compile(expression, sorted(variables.keySet()));
+        List<String> slots = compiled.getVariables();
+        double[] values = new double[slots.size()];
+        for (int i = 0; i < values.length; i++) {
+            Double value = variables.get(slots.get(i));
+            values[i] = value != null ? value : Double.NaN;
+        }
+        return evaluate(compiled, values);
+    }
+
+    /**
+     * Resolve the known values of a goal seek to slots, once per request. The functions of the
+     * seek variable are then created from the binding without looking up any variable by name.
+     * Missing or null known values are bound as NaN.
+     */
+    public SeekBinding bind(String expression, Map<String, Double> knownValues, String variableToSeek) {
+        Set<String> names = new TreeSet<>(knownValues.keySet());
+        names.add(variableToSeek);
+        List<String> variables = List.copyOf(names);
+
+        double[] values = new double[variables.size()];
+        int seekSlot = variables.indexOf(variableToSeek);
+        for (int i = 0; i < values.length; i++) {
+            if (i != seekSlot) {
+                Double value = knownValues.get(variables.get(i));
+                values[i] = value != null ? value : Double.NaN;
+            }
+        }
+        return new SeekBinding(expression, variables, values, seekSlot);
+    }
+
     /**
      * Create a function that evaluates the formula with one variable varying.
      * All other variables are fixed to their known values.
+     *
+     * <p>The expression is compiled once per formula and seek variable, and the subexpressions
+     * of the known values are computed once per call, so each call of the returned function only
+     * sets the seek slot and evaluates the residual. If no residual formula could be compiled,
+     * the whole formula is evaluated instead. The returned function is not thread-safe.
+     */
+    public DoubleUnaryOperator createFunction(SeekBinding binding) {
+        try {
+            return residual(DerivedKind.FUNCTION, binding.expression(), binding.variables(), binding.seekVariable())
+                    .map(residual -> bind(residual, binding))
+                    .orElseGet(() -> bindFormula(binding));
+        } catch (Exception e) {
+            return x -> Double.NaN;
+        }
+    }
+
+    /**
+     * Create the analytic derivative of {@link #createFunction} with respect to the seek variable.
+     * The derivative is computed symbolically once per formula and seek variable.
+     *
+     * @return the derivative, or {@code null} if the formula has no usable symbolic derivative
+     */
+    public DoubleUnaryOperator createDerivative(SeekBinding binding) {
+        try {
+            return residual(DerivedKind.DERIVATIVE, binding.expression(), binding.variables(), binding.seekVariable())
+                    .map(residual -> bind(residual, binding))
+                    .orElse(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Create the closed-form inverse of {@link #createFunction}: a function from a target
+     * value to the seek variable value that produces it. The inverse is derived symbolically
+     * once per formula and seek variable. It may use a principal branch, so callers
+     * should check the result against the formula.
+     *
+     * @return the inverse, or {@code null} if the seek variable cannot be isolated
+     */
+    public DoubleUnaryOperator createInverse(SeekBinding binding) {
+        try {
+            return derived(DerivedKind.INVERSE, binding.expression(), binding.variables(), binding.seekVariable())
+                    .map(compiled -> bindInverse(compiled, binding))
+                    .orElse(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Create a range function for {@link #createFunction}: given an interval of the seek variable,
+     * it returns an interval that contains every value the formula takes there. The known values
+     * are folded into the parsed tree once.
+     *
+     * @return the range function, or {@code null} if the formula cannot be parsed
+     */
+    public UnaryOperator<Interval> createRange(SeekBinding binding) {
+        Optional<Node> parsed = parse(binding.expression(), binding.variables());
+        if (parsed.isEmpty()) {
+            return null;
+        }
+        List<String> variables = binding.variables();
+        Map<String, Double> fixed = new HashMap<>();
+        for (int i = 0; i < variables.size(); i++) {
+            if (i != binding.seekSlot()) {
+                fixed.put(variables.get(i), binding.values()[i]);
+            }
+        }
+        Node bound = Nodes.substitute(parsed.get(), fixed);
+        String variableToSeek = binding.seekVariable();
+        return x -> IntervalEvaluator.evaluate(bound, variableToSeek, x);
+    }
+
+    /**
+     * Derive and cache the inverse of a newly registered formula for each of its variables,
+     * so the first goal seek against it does not pay for the symbolic work.
+     */
+    public void prepareInverses(String expression, List<String> variables) {
+        List<String> slots = sorted(variables);
+        for (String variable : variables) {
+            derived(DerivedKind.INVERSE, expression, slots, variable);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFormulaChanged(FormulaChangedEvent event) {
+        invalidate(event.expression());
+    }
+
+    /**
+     * Drop every cached compilation of the given expression.
+     */
+    public void invalidate(String expression) {
+        synchronized (compiledCache) {
+            compiledCache.keySet().removeIf(key -> key.expression().equals(expression));
+        }
+        synchronized (derivedCache) {
+            derivedCache.keySet().removeIf(key -> key.expression().equals(expression));
+        }
+        synchronized (residualCache) {
+            residualCache.keySet().removeIf(key -> key.expression().equals(expression));
+        }
+        synchronized (parsedCache) {
+            parsedCache.keySet().removeIf(key -> key.expression().equals(expression));
+        }
+    }
+
+    /**
+     * Bind the known values into the inverse's slots once; the returned function only sets the
+     * target slot and evaluates.
+     */
+    private DoubleUnaryOperator bindInverse(CompiledFormula compiled, SeekBinding binding) {
+        List<String> slots = compiled.getVariables();
+        String target = targetVariable(binding.variables());
+        double[] values = new double[slots.size()];
+        int targetSlot = -1;
+        for (int i = 0; i < values.length; i++) {
+            if (slots.get(i).equals(target)) {
+                targetSlot = i;
+            } else {
+                values[i] = binding.values()[binding.variables().indexOf(slots.get(i))];
+            }
+        }
+        int slot = targetSlot;
+
+        return x -> {
+            try {
+                values[slot] = x;
+                return compiled.evaluate(values);
+            } catch (Exception e) {
+                return Double.NaN;
+            }
+        };
+    }
+
+    /**
+     * Bind the known values into a copy of the binding's slots; the returned function sets the
+     * seek slot and evaluates the whole formula.
      */
-    public DoubleUnaryOperator createFunction(String expression, 
-                                               Map<String, Double> knownValues,
-                                               String variableToSeek) {
+    private DoubleUnaryOperator bindFormula(SeekBinding binding) {
+        CompiledFormula compiled = compiled(binding.expression(), binding.variables());
+        double[] values = binding.values().clone();
+        int slot = binding.seekSlot();
         return x -> {
             try {
-                ExpressionBuilder builder = new ExpressionBuilder(expression);
-                
-                // Add all variables
-                for (String variable : knownValues.keySet()) {
-                    builder.variable(variable);
-                }
-                builder.variable(variableToSeek);
-                
-                Expression exp = builder.build();
-                
-                // Set known values
-                for (Map.Entry<String, Double> entry : knownValues.entrySet()) {
-                    exp.setVariable(entry.getKey(), entry.getValue());
-                }
-                
-                // Set the variable we're seeking
-                exp.setVariable(variableToSeek, x);
-                
-                return exp.evaluate();
+                values[slot] = x;
+                return compiled.evaluate(values);
             } catch (Exception e) {
                 return Double.NaN;
             }
         };
     }
+
+    /**
+     * Bind the known values and compute the invariant subexpressions once; the returned function
+     * only sets the seek slot and evaluates the residual.
+     */
+    private DoubleUnaryOperator bind(ResidualFormula residual, SeekBinding binding) {
+        DoubleUnaryOperator function;
+        try {
+            function = residual.bind(binding.values());
+        } catch (ArithmeticException e) {
+            // An invariant subexpression fails, so the formula fails for every value
+            return x -> Double.NaN;
+        }
+        return x -> {
+            try {
+                return function.applyAsDouble(x);
+            } catch (Exception e) {
+                return Double.NaN;
+            }
+        };
+    }
+
+    /**
+     * Return a cached residual formula or derivative, compiling it on a miss. Residual formulas
+     * count as compilations in the cache statistics. An empty result, meaning the formula cannot
+     * be parsed or has no usable derivative, is cached as well.
+     */
+    private Optional<ResidualFormula> residual(DerivedKind kind, String expression, List<String> variables,
+                                               String variable) {
+        DerivedKey key = new DerivedKey(kind, expression, variables, variable);
+
+        Optional<ResidualFormula> residual;
+        synchronized (residualCache) {
+            residual = residualCache.get(key);
+        }
+        if (residual != null) {
+            hits.increment();
+            return residual;
+        }
+        misses.increment();
+        long start = System.nanoTime();
+        try {
+            Node root = parse(expression, variables).orElseThrow(IllegalArgumentException::new);
+            if (kind == DerivedKind.DERIVATIVE) {
+                root = Differentiator.derivative(root, variable);
+            }
+            residual = Optional.of(ResidualFormula.compile(formulaCompiler, root, variables, variable));
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            residual = Optional.empty();
+        } catch (RuntimeException e) {
+            // The backend could not compile what was derived, such as a class it failed to define
+            (kind == DerivedKind.DERIVATIVE ? derivativeFailures : compileFailures).increment();
+            residual = Optional.empty();
+        }
+        (kind == DerivedKind.DERIVATIVE ? derivativeTimer : compileTimer)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        synchronized (residualCache) {
+            residualCache.put(key, residual);
+        }
+        return residual;
+    }
+
+    /**
+     * Return a cached inverse, deriving it on a miss. An empty result,
+     * meaning the formula has no such form, is cached as well.
+     */
+    private Optional<CompiledFormula> derived(DerivedKind kind, String expression, List<String> variables,
+                                              String variable) {
+        DerivedKey key = new DerivedKey(kind, expression, variables, variable);
+
+        Optional<CompiledFormula> derived;
+        synchronized (derivedCache) {
+            derived = derivedCache.get(key);
+        }
+        if (derived == null) {
+            long start = System.nanoTime();
+            derived = invert(expression, variables, variable);
+            inverseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            synchronized (derivedCache) {
+                derivedCache.put(key, derived);
+            }
+        }
+        return derived;
+    }
+
+    /**
+     * Return the cached expression tree, parsing it on a miss. A parse failure is cached as empty.
+     */
+    private Optional<Node> parse(String expression, List<String> variables) {
+        CacheKey key = new CacheKey(expression, variables);
+
+        Optional<Node> parsed;
+        synchronized (parsedCache) {
+            parsed = parsedCache.get(key);
+        }
+        if (parsed == null) {
+            try {
+                parsed = Optional.of(ExpressionParser.parse(expression, variables));
+            } catch (IllegalArgumentException e) {
+                parsed = Optional.empty();
+            }
+            synchronized (parsedCache) {
+                parsedCache.put(key, parsed);
+            }
+        }
+        return parsed;
+    }
+
+    private Optional<CompiledFormula> invert(String expression, List<String> variables, String variable) {
+        try {
+            String target = targetVariable(variables);
+            Optional<Node> inverse = Inverter.invert(ExpressionParser.parse(expression, variables), variable,
+                    Nodes.variable(target));
+            if (inverse.isEmpty()) {
+                return Optional.empty();
+            }
+            Set<String> inverseVariables = new TreeSet<>(variables);
+            inverseVariables.remove(variable);
+            inverseVariables.add(target);
+            return Optional.of(formulaCompiler.compile(inverse.get(), sorted(inverseVariables)));
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            return Optional.empty();
+        } catch (RuntimeException e) {
+            // The backend could not compile the inverse, although the formula itself is fine
+            inverseFailures.increment();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Name of the variable that stands for the target value in an inverse, chosen not to clash.
+     */
+    private static String targetVariable(Collection<String> variables) {
+        String name = "_target";
+        while (variables.contains(name)) {
+            name = name + "_";
+        }
+        return name;
+    }
+
+    /**
+     * The variables in sorted order of their names, the slot order of goal seek bindings.
+     */
+    private static List<String> sorted(Collection<String> variables) {
+        return List.copyOf(new TreeSet<>(variables));
+    }
+
+    /**
+     * Return the compiled expression, compiling it only on a cache miss.
+     */
+    private CompiledFormula compiled(String expression, List<String> variables) {
+        CacheKey key = new CacheKey(expression, variables);
+
+        CompiledFormula compiled;
+        synchronized (compiledCache) {
+            compiled = compiledCache.get(key);
+        }
+        if (compiled != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            long start = System.nanoTime();
+            compiled = formulaCompiler.compile(expression, List.copyOf(variables));
+            compileTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            synchronized (compiledCache) {
+                compiledCache.put(key, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    public CacheStatistics getStatistics() {
+        int size;
+        synchronized (compiledCache) {
+            size = compiledCache.size();
+        }
+        synchronized (residualCache) {
+            size += residualCache.size();
+        }
+        return CacheStatistics.builder()
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .size(size)
+                .build();
+    }
+
+    private Timer compileTimer(MeterRegistry meterRegistry, String kind) {
+        return Timer.builder("goalseek.evaluator.compile")
+                .description("Latency of compiling a formula or deriving its derivative or inverse")
+                .tag("backend", formulaCompiler.getName())
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    private Counter compileFailures(MeterRegistry meterRegistry, String kind) {
+        return Counter.builder("goalseek.evaluator.compile.failures")
+                .description("Derived formulas the backend failed to compile, which goal seeks then do without")
+                .tag("backend", formulaCompiler.getName())
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    private static <K, V> Map<K, V> lruCache(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    private record CacheKey(String expression, List<String> variables) {
+    }
+
+    private enum DerivedKind {
+        FUNCTION,
+        DERIVATIVE,
+        INVERSE
+    }
+
+    private record DerivedKey(DerivedKind kind, String expression, List<String> variables, String variable) {
+    }
 }
@@ -0,0 +1,91 @@
+package com.fintech.goalseek.service;
+
+import com.fintech.goalseek.dto.CacheStatistics;
+import com.fintech.goalseek.entity.Formula;
+import com.fintech.goalseek.exception.FormulaNotFoundException;
+import com.fintech.goalseek.repository.FormulaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through, in-memory registry of formulas in front of {@link FormulaRepository}.
+ *
+ * <p>Lookups are served from a concurrent map of detached formula snapshots and
+ * only reach the database on a miss. Entries are dropped after a create, update
+ * or delete commits. A generation counter keeps a load that raced with such a
+ * change from re-inserting the old formula. Registering a formula also derives its
+ * closed-form inverses, so they are ready before the first goal seek.
+ */
+@Component
+public class FormulaRegistry {
+
+    private final FormulaRepository formulaRepository;
+    private final FormulaEvaluator formulaEvaluator;
+    private final Map<String, Formula> formulas = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public FormulaRegistry(FormulaRepository formulaRepository, FormulaEvaluator formulaEvaluator) {
+        this.formulaRepository = formulaRepository;
+        this.formulaEvaluator = formulaEvaluator;
+    }
+
+    /**
+     * Get a formula by name. The returned formula is shared and must not be modified.
+     *
+     * @throws FormulaNotFoundException if no formula has this name
+     */
+    public Formula get(String name) {
+        Formula formula = formulas.get(name);
+        if (formula != null) {
+            hits.increment();
+            return formula;
+        }
+        misses.increment();
+
+        long loadGeneration = generation.get();
+        Formula loaded = formulaRepository.findByName(name)
+                .map(this::snapshot)
+                .orElseThrow(() -> new FormulaNotFoundException("Formula not found: " + name));
+        formulaEvaluator.prepareInverses(loaded.getExpression(), loaded.getVariables());
+        Formula cached = formulas.compute(name, (key, existing) ->
+                existing != null || generation.get() != loadGeneration ? existing : loaded);
+        return cached != null ? cached : loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFormulaChanged(FormulaChangedEvent event) {
+        generation.incrementAndGet();
+        formulas.remove(event.name());
+    }
+
+    public CacheStatistics getStatistics() {
+        return CacheStatistics.builder()
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .size(formulas.size())
+                .build();
+    }
+
+    private Formula snapshot(Formula formula) {
+        return Formula.builder()
+                .id(formula.getId())
+                .name(formula.getName())
+                .expression(formula.getExpression())
+                .description(formula.getDescription())
+                .outputVariable(formula.getOutputVariable())
+                .variables(List.copyOf(formula.getVariables()))
+                .convergence(formula.getConvergence())
+                .tolerance(formula.getTolerance())
+                .createdAt(formula.getCreatedAt())
+                .updatedAt(formula.getUpdatedAt())
+                .build();
+    }
+}
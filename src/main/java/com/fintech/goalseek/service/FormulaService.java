@@ -6,6 +6,7 @@ import com.fintech.goalseek.entity.Formula;
 import com.fintech.goalseek.exception.FormulaNotFoundException;
 import com.fintech.goalseek.exception.FormulaDuplicateException;
 import com.fintech.goalseek.repository.FormulaRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,10 +21,15 @@ public class FormulaService {
 
     private final FormulaRepository formulaRepository;
     private final FormulaEvaluator formulaEvaluator;
+    private final FormulaRegistry formulaRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public FormulaService(FormulaRepository formulaRepository, FormulaEvaluator formulaEvaluator) {
+    public FormulaService(FormulaRepository formulaRepository, FormulaEvaluator formulaEvaluator,
+                          FormulaRegistry formulaRegistry, ApplicationEventPublisher eventPublisher) {
         this.formulaRepository = formulaRepository;
         this.formulaEvaluator = formulaEvaluator;
+        this.formulaRegistry = formulaRegistry;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -40,9 +46,12 @@ public class FormulaService {
                 .description(request.getDescription())
                 .outputVariable(request.getOutputVariable())
                 .variables(request.getVariables())
+                .convergence(request.getConvergence())
+                .tolerance(request.getTolerance())
                 .build();
 
         Formula saved = formulaRepository.save(formula);
+        eventPublisher.publishEvent(new FormulaChangedEvent(saved.getName(), saved.getExpression()));
         return mapToResponse(saved);
     }
 
@@ -60,10 +69,12 @@ public class FormulaService {
         return mapToResponse(formula);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Get a formula for computation. Served from the in-memory {@link FormulaRegistry};
+     * the returned formula is shared and must not be modified.
+     */
     public Formula getFormulaEntityByName(String name) {
-        return formulaRepository.findByName(name)
-                .orElseThrow(() -> new FormulaNotFoundException("Formula not found: " + name));
+        return formulaRegistry.get(name);
     }
 
     @Transactional
@@ -76,12 +87,15 @@ public class FormulaService {
         }
 
         formulaEvaluator.validateFormula(request.getExpression(), request.getVariables());
+        eventPublisher.publishEvent(new FormulaChangedEvent(formula.getName(), formula.getExpression()));
 
         formula.setName(request.getName());
         formula.setExpression(request.getExpression());
         formula.setDescription(request.getDescription());
         formula.setOutputVariable(request.getOutputVariable());
         formula.setVariables(request.getVariables());
+        formula.setConvergence(request.getConvergence());
+        formula.setTolerance(request.getTolerance());
 
         Formula saved = formulaRepository.save(formula);
         return mapToResponse(saved);
@@ -92,6 +106,7 @@ public class FormulaService {
         Formula formula = formulaRepository.findByName(name)
                 .orElseThrow(() -> new FormulaNotFoundException("Formula not found: " + name));
         formulaRepository.delete(formula);
+        eventPublisher.publishEvent(new FormulaChangedEvent(formula.getName(), formula.getExpression()));
     }
 
     private FormulaResponse mapToResponse(Formula formula) {
@@ -102,6 +117,8 @@ public class FormulaService {
                 .description(formula.getDescription())
                 .outputVariable(formula.getOutputVariable())
                 .variables(formula.getVariables())
+                .convergence(formula.getConvergence())
+                .tolerance(formula.getTolerance())
                 .createdAt(formula.getCreatedAt())
                 .updatedAt(formula.getUpdatedAt())
                 .build();
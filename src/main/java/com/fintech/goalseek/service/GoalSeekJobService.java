@@ -0,0 +1,356 @@
+package com.fintech.goalseek.service;
+
+import com.fintech.goalseek.dto.BatchGoalSeekItem;
+import com.fintech.goalseek.dto.BatchGoalSeekRequest;
+import com.fintech.goalseek.dto.GoalSeekJobResponse;
+import com.fintech.goalseek.dto.GoalSeekJobResultsResponse;
+import com.fintech.goalseek.dto.GoalSeekRequest;
+import com.fintech.goalseek.entity.Formula;
+import com.fintech.goalseek.exception.GoalSeekException;
+import com.fintech.goalseek.exception.JobNotFoundException;
+import com.fintech.goalseek.exception.JobRejectedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Service for goal seek batches solved in the background.
+ *
+ * <p>A submitted batch becomes a job on the bounded job pool, so the request returns at once
+ * with the job's id. A worker solves the items of its job in order with
+ * {@link GoalSeekService#seekGoal}, and progress and the items solved so far can be read while
+ * it runs. When the pool's queue is full, new jobs are rejected rather than queued.
+ *
+ * <p>Jobs hold at most {@code goalseek.jobs.max-retained-items} items together: a queued or running
+ * job counts every one of its requests, since it holds them and a slot for each result, and a
+ * finished job counts the results it kept. A job that would exceed the cap first drops the oldest
+ * finished jobs, and is rejected if the jobs still queued or running leave no room for it.
+ *
+ * <p>Finished jobs are kept for {@code goalseek.jobs.retention}. Expired jobs are dropped whenever
+ * jobs are submitted or read.
+ */
+@Service
+public class GoalSeekJobService {
+
+    private final BatchGoalSeekService batchGoalSeekService;
+    private final ThreadPoolExecutor goalSeekJobPool;
+    private final int maxJobSize;
+    private final int maxPageSize;
+    private final Duration retention;
+    private final long maxRetainedItems;
+
+    /**
+     * Jobs in submission order. Guarded by this.
+     */
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    /**
+     * Items held by all jobs: the requests of queued and running jobs, the results of finished ones.
+     * Guarded by this.
+     */
+    private long retainedItems;
+
+    public GoalSeekJobService(BatchGoalSeekService batchGoalSeekService,
+                              @Qualifier("goalSeekJobPool") ThreadPoolExecutor goalSeekJobPool,
+                              MeterRegistry registry,
+                              @Value("${goalseek.jobs.max-size:100000}") int maxJobSize,
+                              @Value("${goalseek.jobs.max-page-size:1000}") int maxPageSize,
+                              @Value("${goalseek.jobs.retention:1h}") Duration retention,
+                              @Value("${goalseek.jobs.max-retained-items:1000000}") long maxRetainedItems) {
+        this.batchGoalSeekService = batchGoalSeekService;
+        this.goalSeekJobPool = goalSeekJobPool;
+        this.maxJobSize = maxJobSize;
+        this.maxPageSize = maxPageSize;
+        this.retention = retention;
+        this.maxRetainedItems = maxRetainedItems;
+
+        Gauge.builder("goalseek.jobs.queued", goalSeekJobPool, pool -> pool.getQueue().size())
+                .description("Goal seek jobs waiting for a worker")
+                .register(registry);
+        Gauge.builder("goalseek.jobs.running", goalSeekJobPool, ThreadPoolExecutor::getActiveCount)
+                .description("Goal seek jobs being solved")
+                .register(registry);
+        Gauge.builder("goalseek.jobs.retained.items", this, GoalSeekJobService::getRetainedItems)
+                .description("Requests of queued and running goal seek jobs and results of finished ones")
+                .register(registry);
+    }
+
+    /**
+     * Queue a batch for solving.
+     *
+     * @throws JobRejectedException if the job queue is full, or the jobs queued and running hold
+     *                              too many items to fit this one
+     */
+    public GoalSeekJobResponse submit(BatchGoalSeekRequest batch) {
+        List<GoalSeekRequest> requests = batch.getRequests();
+        if (requests.size() > maxJobSize) {
+            throw new GoalSeekException("Job size " + requests.size() + " exceeds the maximum of " + maxJobSize);
+        }
+        if (requests.size() > maxRetainedItems) {
+            throw new GoalSeekException("Job size " + requests.size() + " exceeds the maximum of "
+                    + maxRetainedItems + " items held by jobs");
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), new ArrayList<>(requests));
+        synchronized (this) {
+            purge(job.total);
+            if (retainedItems + job.total > maxRetainedItems) {
+                throw new JobRejectedException("Jobs in progress hold too many items, try again later");
+            }
+            jobs.put(job.id, job);
+            retainedItems += job.total;
+        }
+        try {
+            job.future = goalSeekJobPool.submit(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                jobs.remove(job.id);
+                retainedItems -= job.total;
+            }
+            throw new JobRejectedException("Job queue is full, try again later");
+        }
+        return job.view(retention);
+    }
+
+    public GoalSeekJobResponse getJob(String id) {
+        return find(id).view(retention);
+    }
+
+    /**
+     * A page of a job's results, in request order.
+     */
+    public GoalSeekJobResultsResponse getResults(String id, int page, int size) {
+        if (page < 0) {
+            throw new GoalSeekException("Page must not be negative: " + page);
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new GoalSeekException("Page size must be between 1 and " + maxPageSize + ": " + size);
+        }
+
+        Job job = find(id);
+        GoalSeekJobResponse view = job.view(retention);
+        int completed = view.getCompleted();
+        long from = (long) page * size;
+        List<BatchGoalSeekItem> results = from < completed
+                ? Arrays.asList(job.results).subList((int) from, (int) Math.min(from + size, completed))
+                : List.of();
+        return GoalSeekJobResultsResponse.builder()
+                .id(id)
+                .status(view.getStatus())
+                .page(page)
+                .size(size)
+                .total(view.getTotal())
+                .completed(completed)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Cancel a job. A queued job never starts; a running one stops after its current item
+     * and keeps the results solved so far.
+     */
+    public GoalSeekJobResponse cancel(String id) {
+        Job job = find(id);
+        if (job.cancel()) {
+            Future<?> future = job.future;
+            if (future != null) {
+                future.cancel(false);
+                goalSeekJobPool.purge();
+            }
+            finished(job);
+        }
+        return job.view(retention);
+    }
+
+    public synchronized long getRetainedItems() {
+        return retainedItems;
+    }
+
+    private void run(Job job) {
+        if (!job.start()) {
+            return;
+        }
+        Map<String, Formula> formulas = new HashMap<>();
+        try {
+            for (int i = 0; i < job.total && !job.isCancelled(); i++) {
+                job.complete(i, batchGoalSeekService.seekGoal(i, job.requests.get(i), formulas));
+            }
+            job.finish(null);
+        } catch (RuntimeException e) {
+            job.finish(e.getMessage());
+        }
+        finished(job);
+    }
+
+    /**
+     * Count a finished job by its results rather than its requests, which makes it eligible for dropping.
+     */
+    private synchronized void finished(Job job) {
+        if (jobs.get(job.id) == job && !job.retained) {
+            job.retained = true;
+            retainedItems += job.retainedItems() - job.total;
+            purge(0);
+        }
+    }
+
+    private synchronized Job find(String id) {
+        purge(0);
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new JobNotFoundException("Job not found: " + id);
+        }
+        return job;
+    }
+
+    /**
+     * Drop finished jobs that have expired, then the oldest finished jobs while the items held,
+     * and those of a job about to be added, exceed the cap.
+     *
+     * @param adding items of the job about to be added
+     */
+    private void purge(long adding) {
+        long now = System.nanoTime();
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            Job job = iterator.next();
+            if (job.retained && (now - job.finishedNanos() >= retention.toNanos()
+                    || retainedItems + adding > maxRetainedItems)) {
+                retainedItems -= job.retainedItems();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * One job. Its status is guarded by the job; results are written by the worker in order
+     * and published by the volatile count of completed items.
+     */
+    private static final class Job {
+
+        private final String id;
+        private final int total;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final BatchGoalSeekItem[] results;
+        private List<GoalSeekRequest> requests;
+        private volatile Future<?> future;
+        private volatile int completed;
+        private volatile int failed;
+
+        private String status = GoalSeekJobResponse.STATUS_QUEUED;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private long finishedNanos;
+        private String error;
+
+        /**
+         * Whether the job has finished and counts towards the cap by its results rather than its
+         * requests. Guarded by the service.
+         */
+        private boolean retained;
+
+        Job(String id, List<GoalSeekRequest> requests) {
+            this.id = id;
+            this.total = requests.size();
+            this.requests = requests;
+            this.results = new BatchGoalSeekItem[total];
+        }
+
+        synchronized boolean start() {
+            if (!GoalSeekJobResponse.STATUS_QUEUED.equals(status)) {
+                return false;
+            }
+            status = GoalSeekJobResponse.STATUS_RUNNING;
+            startedAt = LocalDateTime.now();
+            return true;
+        }
+
+        void complete(int index, BatchGoalSeekItem item) {
+            results[index] = item;
+            if (BatchGoalSeekItem.STATUS_ERROR.equals(item.getStatus())) {
+                failed++;
+            }
+            completed = index + 1;
+        }
+
+        synchronized boolean isCancelled() {
+            return GoalSeekJobResponse.STATUS_CANCELLED.equals(status);
+        }
+
+        /**
+         * Mark a queued job as finished, or a running one as stopping.
+         *
+         * @return whether the job was queued, so no worker will finish it
+         */
+        synchronized boolean cancel() {
+            if (GoalSeekJobResponse.STATUS_QUEUED.equals(status)) {
+                status = GoalSeekJobResponse.STATUS_CANCELLED;
+                markFinished();
+                return true;
+            }
+            if (GoalSeekJobResponse.STATUS_RUNNING.equals(status)) {
+                status = GoalSeekJobResponse.STATUS_CANCELLED;
+            }
+            return false;
+        }
+
+        synchronized void finish(String failure) {
+            if (failure != null) {
+                status = GoalSeekJobResponse.STATUS_FAILED;
+                error = failure;
+            } else if (GoalSeekJobResponse.STATUS_RUNNING.equals(status)) {
+                status = GoalSeekJobResponse.STATUS_COMPLETED;
+            }
+            markFinished();
+        }
+
+        private void markFinished() {
+            finishedAt = LocalDateTime.now();
+            finishedNanos = System.nanoTime();
+            requests = null;
+        }
+
+        synchronized long finishedNanos() {
+            return finishedNanos;
+        }
+
+        /**
+         * Results held once finished; at least one, so that many empty jobs still count.
+         */
+        long retainedItems() {
+            return Math.max(1, completed);
+        }
+
+        synchronized GoalSeekJobResponse view(Duration retention) {
+            int done = completed;
+            return GoalSeekJobResponse.builder()
+                    .id(id)
+                    .status(status)
+                    .total(total)
+                    .completed(done)
+                    .succeeded(done - failed)
+                    .failed(failed)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .expiresAt(finishedAt != null ? finishedAt.plus(retention) : null)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.fintech.goalseek.service;
+
+import com.fintech.goalseek.algorithm.BracketSearch.Bracket;
+import com.fintech.goalseek.algorithm.GoalSeekResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for goal seeks and the algorithms that solve them.
+ *
+ * <p>Meters are tagged by formula and algorithm and looked up once per tag combination,
+ * so recording a solve costs a map lookup rather than a meter registration.
+ *
+ * <p>Since the formula tag has no bound, the timers and summaries publish a dozen fixed buckets
+ * each rather than percentile histograms, which Prometheus exposes as about 70 series per tag
+ * combination. {@code goalseek.metrics.percentile-histograms} switches the histograms on.
+ */
+@Component
+public class GoalSeekMetrics {
+
+    public static final String OUTCOME_CONVERGED = "converged";
+    public static final String OUTCOME_NOT_CONVERGED = "not_converged";
+    public static final String OUTCOME_DEADLINE_EXCEEDED = "deadline_exceeded";
+    public static final String OUTCOME_ERROR = "error";
+    public static final String OUTCOME_CANCELLED = "cancelled";
+    public static final String OUTCOME_UNREACHABLE = "unreachable";
+
+    public static final String WARM_START_MISS = "miss";
+    public static final String WARM_START_HIT = "hit";
+    public static final String WARM_START_STALE = "stale";
+
+    private static final Duration[] LATENCY_BUCKETS = {
+            Duration.ofMillis(1), Duration.ofMillis(2), Duration.ofMillis(5), Duration.ofMillis(10),
+            Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+            Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(5)
+    };
+
+    private static final double[] COUNT_BUCKETS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    private final MeterRegistry registry;
+    private final boolean percentileHistograms;
+    private final Map<SeekKey, Timer> seekTimers = new ConcurrentHashMap<>();
+    private final Map<AlgorithmKey, AlgorithmMeters> algorithmMeters = new ConcurrentHashMap<>();
+    private final Map<SeekKey, Counter> fallbackCounters = new ConcurrentHashMap<>();
+    private final Map<SeekKey, BracketMeters> bracketMeters = new ConcurrentHashMap<>();
+    private final Map<SeekKey, Counter> warmStartCounters = new ConcurrentHashMap<>();
+    private final Map<SeekKey, WarmStartMeters> warmStartMeters = new ConcurrentHashMap<>();
+
+    public GoalSeekMetrics(MeterRegistry registry,
+                           @Value("${goalseek.metrics.percentile-histograms:false}") boolean percentileHistograms) {
+        this.registry = registry;
+        this.percentileHistograms = percentileHistograms;
+    }
+
+    /**
+     * Record a whole goal seek, including result cache hits.
+     */
+    public void recordSeek(String formula, String outcome, long nanos) {
+        seekTimers.computeIfAbsent(new SeekKey(formula, outcome), key -> buckets(Timer.builder("goalseek.seek")
+                        .description("Goal seek latency, including result cache hits")
+                        .tag("formula", key.formula())
+                        .tag("outcome", key.name()))
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record one algorithm run that returned a result.
+     */
+    public void recordSolve(String formula, GoalSeekResult result, long nanos) {
+        AlgorithmMeters meters = algorithmMeters(formula, result.getAlgorithm());
+        Timer timer = result.isConverged() ? meters.converged()
+                : result.isDeadlineExceeded() ? meters.deadlineExceeded()
+                : meters.notConverged();
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        meters.iterations().record(result.getIterations());
+        meters.evaluations().record(result.getEvaluations());
+    }
+
+    /**
+     * Record the bracket search run before the algorithms.
+     */
+    public void recordBracketSearch(String formula, Bracket bracket) {
+        BracketMeters meters = bracketMeters.computeIfAbsent(
+                new SeekKey(formula, String.valueOf(bracket.isFound())), key -> new BracketMeters(
+                        bracketSummary("goalseek.bracket.evaluations", "Function evaluations per bracket search", key),
+                        bracketSummary("goalseek.bracket.expansions",
+                                "Times the bracket search widened the range beyond the bounds", key)
+                ));
+        meters.evaluations().record(bracket.evaluations());
+        meters.expansions().record(bracket.expansions());
+    }
+
+    /**
+     * Record one algorithm run that threw, either failing or losing a race.
+     */
+    public void recordSolveFailure(String formula, String algorithm, boolean cancelled, long nanos) {
+        AlgorithmMeters meters = algorithmMeters(formula, algorithm);
+        (cancelled ? meters.cancelled() : meters.error()).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Count a sequential fallback from Brent to another algorithm.
+     */
+    public void recordFallback(String formula, String algorithm) {
+        fallbackCounters.computeIfAbsent(new SeekKey(formula, algorithm), key -> Counter.builder("goalseek.fallbacks")
+                        .description("Goal seeks that fell back from Brent to another algorithm")
+                        .tag("formula", key.formula())
+                        .tag("algorithm", key.name())
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * Count a warm start lookup: a miss, a hit whose bracket held the root, or a stale hit whose
+     * bracket did not, so the cold search ran after it.
+     */
+    public void recordWarmStartLookup(String formula, String result) {
+        warmStartCounters.computeIfAbsent(new SeekKey(formula, result), key -> Counter.builder("goalseek.warmstart.lookups")
+                        .description("Warm start index lookups by result")
+                        .tag("formula", key.formula())
+                        .tag("result", key.name())
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * Record the cost of an iterative solve, split by whether the warm start index had a hint
+     * for it, so the savings show as the difference between the two.
+     */
+    public void recordWarmStartCost(String formula, boolean warm, long evaluations, int iterations) {
+        WarmStartMeters meters = warmStartMeters.computeIfAbsent(
+                new SeekKey(formula, String.valueOf(warm)), key -> new WarmStartMeters(
+                        warmStartSummary("goalseek.warmstart.evaluations",
+                                "Function evaluations per iterative solve, bracket search included", key),
+                        warmStartSummary("goalseek.warmstart.iterations", "Iterations per iterative solve", key)
+                ));
+        meters.evaluations().record(evaluations);
+        meters.iterations().record(iterations);
+    }
+
+    private AlgorithmMeters algorithmMeters(String formula, String algorithm) {
+        return algorithmMeters.computeIfAbsent(new AlgorithmKey(formula, algorithm), key -> new AlgorithmMeters(
+                solveTimer(key, OUTCOME_CONVERGED),
+                solveTimer(key, OUTCOME_NOT_CONVERGED),
+                solveTimer(key, OUTCOME_DEADLINE_EXCEEDED),
+                solveTimer(key, OUTCOME_ERROR),
+                solveTimer(key, OUTCOME_CANCELLED),
+                summary("goalseek.algorithm.iterations", "Iterations per algorithm run", key),
+                summary("goalseek.algorithm.evaluations", "Function evaluations per algorithm run", key)
+        ));
+    }
+
+    private Timer solveTimer(AlgorithmKey key, String outcome) {
+        return buckets(Timer.builder("goalseek.algorithm.solve")
+                .description("Latency of a single algorithm run")
+                .tag("formula", key.formula())
+                .tag("algorithm", key.algorithm())
+                .tag("outcome", outcome))
+                .register(registry);
+    }
+
+    private DistributionSummary summary(String name, String description, AlgorithmKey key) {
+        return buckets(DistributionSummary.builder(name)
+                .description(description)
+                .tag("formula", key.formula())
+                .tag("algorithm", key.algorithm()))
+                .register(registry);
+    }
+
+    private DistributionSummary bracketSummary(String name, String description, SeekKey key) {
+        return buckets(DistributionSummary.builder(name)
+                .description(description)
+                .tag("formula", key.formula())
+                .tag("found", key.name()))
+                .register(registry);
+    }
+
+    private DistributionSummary warmStartSummary(String name, String description, SeekKey key) {
+        return buckets(DistributionSummary.builder(name)
+                .description(description)
+                .tag("formula", key.formula())
+                .tag("warm", key.name()))
+                .register(registry);
+    }
+
+    private Timer.Builder buckets(Timer.Builder builder) {
+        return percentileHistograms
+                ? builder.publishPercentileHistogram()
+                : builder.serviceLevelObjectives(LATENCY_BUCKETS);
+    }
+
+    private DistributionSummary.Builder buckets(DistributionSummary.Builder builder) {
+        return percentileHistograms
+                ? builder.publishPercentileHistogram()
+                : builder.serviceLevelObjectives(COUNT_BUCKETS);
+    }
+
+    private record SeekKey(String formula, String name) {
+    }
+
+    private record AlgorithmKey(String formula, String algorithm) {
+    }
+
+    private record AlgorithmMeters(Timer converged, Timer notConverged, Timer deadlineExceeded,
+                                   Timer error, Timer cancelled,
+                                   DistributionSummary iterations, DistributionSummary evaluations) {
+    }
+
+    private record BracketMeters(DistributionSummary evaluations, DistributionSummary expansions) {
+    }
+
+    private record WarmStartMeters(DistributionSummary evaluations, DistributionSummary iterations) {
+    }
+}
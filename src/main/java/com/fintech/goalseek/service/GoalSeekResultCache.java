@@ -0,0 +1,174 @@
+package com.fintech.goalseek.service;
+
+import com.fintech.goalseek.algorithm.ConvergencePolicy;
+import com.fintech.goalseek.dto.CacheStatistics;
+import com.fintech.goalseek.dto.GoalSeekRequest;
+import com.fintech.goalseek.dto.GoalSeekResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of goal seek responses keyed on the normalised request.
+ *
+ * <p>Entries are evicted least-recently-used beyond {@code goalseek.result-cache.max-size}
+ * and expire after {@code goalseek.result-cache.ttl}. Unsuccessful responses are cached
+ * too, since a failed bracket search is the most expensive result to recompute, but
+ * responses cut short by their deadline are not, since they depend on timing.
+ * Budgets are not part of the key, so a coalesced request shares the first caller's budget.
+ * Concurrent identical requests are coalesced: the first caller solves and the others
+ * wait for its result. Cached responses are shared and must not be modified.
+ */
+@Component
+public class GoalSeekResultCache {
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Map<Key, Entry> entries;
+    private final Map<Key, CompletableFuture<GoalSeekResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public GoalSeekResultCache(@Value("${goalseek.result-cache.enabled:true}") boolean enabled,
+                               @Value("${goalseek.result-cache.max-size:10000}") int maxSize,
+                               @Value("${goalseek.result-cache.ttl:10m}") Duration ttl) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Return the cached response for the request, or solve it, sharing the solve
+     * with any concurrent identical request. Exceptions are not cached.
+     */
+    public GoalSeekResponse get(GoalSeekRequest request, Supplier<GoalSeekResponse> solver) {
+        if (!enabled) {
+            return solver.get();
+        }
+
+        Key key = Key.of(request);
+        GoalSeekResponse cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        CompletableFuture<GoalSeekResponse> pending = new CompletableFuture<>();
+        CompletableFuture<GoalSeekResponse> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        misses.increment();
+        long solveGeneration = generation.get();
+        try {
+            GoalSeekResponse response = solver.get();
+            store(key, response, solveGeneration);
+            pending.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFormulaChanged(FormulaChangedEvent event) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.keySet().removeIf(key -> key.formulaName().equals(event.name()));
+        }
+    }
+
+    public CacheStatistics getStatistics() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return CacheStatistics.builder()
+                .hits(hits.sum() + coalesced.sum())
+                .misses(misses.sum())
+                .size(size)
+                .build();
+    }
+
+    private GoalSeekResponse lookup(Key key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.storedAt() > ttlNanos) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.response();
+        }
+    }
+
+    private void store(Key key, GoalSeekResponse response, long solveGeneration) {
+        synchronized (entries) {
+            // Skip results computed against a formula that changed while solving
+            if (generation.get() == solveGeneration && !response.isDeadlineExceeded()) {
+                entries.put(key, new Entry(response, System.nanoTime()));
+            }
+        }
+    }
+
+    private static GoalSeekResponse await(CompletableFuture<GoalSeekResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(GoalSeekResponse response, long storedAt) {
+    }
+
+    private record Key(String formulaName, SortedMap<String, Double> knownValues, String seekVariable,
+                       Double targetValue, Double lowerBound, Double upperBound, Double initialGuess,
+                       ConvergencePolicy.Criterion convergence, Double tolerance) {
+
+        static Key of(GoalSeekRequest request) {
+            SortedMap<String, Double> knownValues = new TreeMap<>();
+            request.getKnownValues().forEach((name, value) -> knownValues.put(name, normalize(value)));
+            return new Key(request.getFormulaName(), knownValues, request.getSeekVariable(),
+                    normalize(request.getTargetValue()), normalize(request.getLowerBound()),
+                    normalize(request.getUpperBound()), normalize(request.getInitialGuess()),
+                    request.getConvergence(), normalize(request.getTolerance()));
+        }
+
+        /**
+         * Fold -0.0 into 0.0 so numerically equal requests share an entry.
+         */
+        private static Double normalize(Double value) {
+            return value == null ? null : value + 0.0;
+        }
+    }
+}
@@ -1,19 +1,39 @@
 package com.fintech.goalseek.service;
 
+import com.fintech.goalseek.algorithm.BracketSearch;
+import com.fintech.goalseek.algorithm.BracketSearch.Bracket;
 import com.fintech.goalseek.algorithm.BrentAlgorithm;
+import com.fintech.goalseek.algorithm.ConvergencePolicy;
 import com.fintech.goalseek.algorithm.GoalSeekAlgorithm;
 import com.fintech.goalseek.algorithm.GoalSeekResult;
+import com.fintech.goalseek.algorithm.SignBound;
+import com.fintech.goalseek.algorithm.SolveBudget;
 import com.fintech.goalseek.dto.GoalSeekRequest;
 import com.fintech.goalseek.dto.GoalSeekResponse;
 import com.fintech.goalseek.entity.Formula;
+import com.fintech.goalseek.exception.FormulaEvaluationException;
 import com.fintech.goalseek.exception.GoalSeekException;
+import com.fintech.goalseek.exception.TargetUnreachableException;
+import com.fintech.goalseek.expression.CompiledFormula;
+import com.fintech.goalseek.expression.Interval;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.DoubleUnaryOperator;
+import java.util.function.UnaryOperator;
 
 /**
  * Service for performing goal seek operations on formulas.
@@ -21,39 +41,111 @@ import java.util.function.DoubleUnaryOperator;
 @Service
 public class GoalSeekService {
 
+    private static final String STRATEGY_RACE = "race";
+    private static final double ANALYTIC_ULPS = 64;
+
+    /**
+     * Widenings of the range around a warm start hint before falling back to the full search.
+     * Each doubles the reach, so six cover about 64 times the hint's radius.
+     */
+    private static final int WARM_START_EXPANSIONS = 6;
+
     private final FormulaService formulaService;
     private final FormulaEvaluator formulaEvaluator;
     private final List<GoalSeekAlgorithm> algorithms;
     private final BrentAlgorithm brentAlgorithm;
+    private final ExecutorService goalSeekRacePool;
+    private final GoalSeekResultCache resultCache;
+    private final GoalSeekMetrics metrics;
+    private final AlgorithmSelector algorithmSelector;
+    private final WarmStartIndex warmStartIndex;
 
     @Value("${goalseek.max-iterations:1000}")
     private int maxIterations;
 
+    /**
+     * Tolerance of the default convergence criterion.
+     */
     @Value("${goalseek.tolerance:1e-10}")
     private double tolerance;
 
+    /**
+     * Convergence criterion used when neither the request nor the formula sets one.
+     */
+    @Value("${goalseek.convergence.criterion:ABSOLUTE}")
+    private ConvergencePolicy.Criterion defaultCriterion;
+
+    @Value("${goalseek.convergence.stagnation-limit:3}")
+    private int stagnationLimit;
+
     @Value("${goalseek.default-lower-bound:-1000000}")
     private double defaultLowerBound;
 
     @Value("${goalseek.default-upper-bound:1000000}")
     private double defaultUpperBound;
 
+    /**
+     * Default time allowed per solve; zero means no limit.
+     */
+    @Value("${goalseek.deadline.timeout:10s}")
+    private Duration defaultTimeout;
+
+    /**
+     * Default function evaluations allowed per solve; zero means no limit.
+     */
+    @Value("${goalseek.deadline.max-evaluations:0}")
+    private long defaultMaxEvaluations;
+
+    /**
+     * Most rows a batch evaluation may have. It is checked after the body is bound, so it bounds
+     * the work of a request; {@code goalseek.request.max-body-size} bounds the memory to bind it.
+     */
+    @Value("${goalseek.evaluate.max-rows:1000000}")
+    private int maxEvaluateRows;
+
+    /**
+     * "sequential" runs Brent and then each fallback in turn; "race" runs them all at once.
+     */
+    @Value("${goalseek.strategy:sequential}")
+    private String strategy;
+
     public GoalSeekService(FormulaService formulaService, FormulaEvaluator formulaEvaluator,
-                           List<GoalSeekAlgorithm> algorithms, BrentAlgorithm brentAlgorithm) {
+                           List<GoalSeekAlgorithm> algorithms, BrentAlgorithm brentAlgorithm,
+                           @Qualifier("goalSeekRacePool") ExecutorService goalSeekRacePool,
+                           GoalSeekResultCache resultCache, GoalSeekMetrics metrics,
+                           AlgorithmSelector algorithmSelector, WarmStartIndex warmStartIndex) {
         this.formulaService = formulaService;
         this.formulaEvaluator = formulaEvaluator;
         this.algorithms = algorithms;
         this.brentAlgorithm = brentAlgorithm;
+        this.goalSeekRacePool = goalSeekRacePool;
+        this.resultCache = resultCache;
+        this.metrics = metrics;
+        this.algorithmSelector = algorithmSelector;
+        this.warmStartIndex = warmStartIndex;
     }
 
     public GoalSeekResponse seekGoal(GoalSeekRequest request) {
         Formula formula = formulaService.getFormulaEntityByName(request.getFormulaName());
+        validateSeekVariable(formula, request.getSeekVariable());
+        return seekGoal(formula, request);
+    }
 
-        if (!formula.getVariables().contains(request.getSeekVariable())) {
-            throw new GoalSeekException("Seek variable '" + request.getSeekVariable() +
+    /**
+     * Check that the seek variable belongs to the formula.
+     */
+    public void validateSeekVariable(Formula formula, String seekVariable) {
+        if (!formula.getVariables().contains(seekVariable)) {
+            throw new GoalSeekException("Seek variable '" + seekVariable +
                     "' is not a valid variable in formula '" + formula.getName() + "'");
         }
+    }
 
+    /**
+     * Perform a goal seek on an already resolved formula whose seek variable
+     * has been checked with {@link #validateSeekVariable}.
+     */
+    public GoalSeekResponse seekGoal(Formula formula, GoalSeekRequest request) {
         for (String variable : formula.getVariables()) {
             if (!variable.equals(request.getSeekVariable()) &&
                 !request.getKnownValues().containsKey(variable)) {
@@ -61,15 +153,26 @@ public class GoalSeekService {
             }
         }
 
+        long start = System.nanoTime();
+        String outcome = GoalSeekMetrics.OUTCOME_ERROR;
+        try {
+            GoalSeekResponse response = resultCache.get(request, () -> solve(formula, request));
+            outcome = response.isSuccess() ? GoalSeekMetrics.OUTCOME_CONVERGED
+                    : response.isDeadlineExceeded() ? GoalSeekMetrics.OUTCOME_DEADLINE_EXCEEDED
+                    : GoalSeekMetrics.OUTCOME_NOT_CONVERGED;
+            return response;
+        } catch (TargetUnreachableException e) {
+            outcome = GoalSeekMetrics.OUTCOME_UNREACHABLE;
+            throw e;
+        } finally {
+            metrics.recordSeek(formula.getName(), outcome, System.nanoTime() - start);
+        }
+    }
+
+    private GoalSeekResponse solve(Formula formula, GoalSeekRequest request) {
         double lowerBound = request.getLowerBound() != null ? request.getLowerBound() : defaultLowerBound;
         double upperBound = request.getUpperBound() != null ? request.getUpperBound() : defaultUpperBound;
 
-        DoubleUnaryOperator function = formulaEvaluator.createFunction(
-                formula.getExpression(),
-                request.getKnownValues(),
-                request.getSeekVariable()
-        );
-
         if (request.getInitialGuess() != null) {
             double guess = request.getInitialGuess();
             double range = Math.max(Math.abs(guess) * 10, upperBound - lowerBound);
@@ -77,32 +180,32 @@ public class GoalSeekService {
             upperBound = guess + range / 2;
         }
 
-        GoalSeekResult result = brentAlgorithm.solve(
-                function,
-                request.getTargetValue(),
-                lowerBound,
-                upperBound,
-                tolerance,
-                maxIterations
-        );
-
-        if (!result.isConverged()) {
-            for (GoalSeekAlgorithm algorithm : algorithms) {
-                if (algorithm.getName().equals("Brent")) continue;
-
-                GoalSeekResult altResult = algorithm.solve(
-                        function,
-                        request.getTargetValue(),
-                        lowerBound,
-                        upperBound,
-                        tolerance,
-                        maxIterations
-                );
-
-                if (altResult.isConverged() || altResult.getError() < result.getError()) {
-                    result = altResult;
-                    if (result.isConverged()) break;
-                }
+        ConvergencePolicy convergence = convergencePolicy(formula, request);
+        SolveBudget budget = budget(request);
+        SeekBinding binding = formulaEvaluator.bind(formula.getExpression(), request.getKnownValues(),
+                request.getSeekVariable());
+        GoalSeekResult result = solveAnalytically(formula, request, binding, convergence);
+        int bracketEvaluations = 0;
+        if (result == null) {
+            SignBound sign = checkReachable(formula, request, binding);
+            WarmStartIndex.Hint hint = warmStartHint(formula, request, lowerBound, upperBound);
+            Bracket bracket = findBracket(formula, request, binding, sign, hint, lowerBound, upperBound, budget);
+            bracketEvaluations = bracket.evaluations();
+            if (bracket.isFound()) {
+                lowerBound = bracket.lower();
+                upperBound = bracket.upper();
+            }
+            result = STRATEGY_RACE.equalsIgnoreCase(strategy)
+                    ? solveByRace(formula, request, binding, bracket.isFound(), lowerBound, upperBound,
+                            convergence, budget)
+                    : solveSequentially(formula, request, binding, bracket.isFound(), lowerBound, upperBound,
+                            convergence, budget);
+
+            metrics.recordWarmStartCost(formula.getName(), hint != null,
+                    bracketEvaluations + result.getBracketEvaluations() + result.getEvaluations(),
+                    result.getIterations());
+            if (result.isConverged()) {
+                warmStartIndex.record(formula, request, result.getValue());
             }
         }
 
@@ -118,14 +221,413 @@ public class GoalSeekService {
                 .achievedValue(result.getAchievedValue())
                 .error(result.getError())
                 .iterations(result.getIterations())
+                .bracketEvaluations(bracketEvaluations + result.getBracketEvaluations())
+                .evaluations(result.getEvaluations())
                 .algorithm(result.getAlgorithm())
                 .allValues(allValues)
                 .message(result.getMessage())
+                .deadlineExceeded(!result.isConverged() && budget.isExhausted())
+                .build();
+    }
+
+    /**
+     * The convergence policy for a request. The criterion comes from the request, else the formula,
+     * else the configuration. The tolerance comes from the request, else from whichever of the
+     * formula or the configuration defines that criterion, else the criterion's own default.
+     */
+    ConvergencePolicy convergencePolicy(Formula formula, GoalSeekRequest request) {
+        ConvergencePolicy.Criterion formulaCriterion =
+                formula.getConvergence() != null ? formula.getConvergence() : defaultCriterion;
+        ConvergencePolicy.Criterion criterion =
+                request.getConvergence() != null ? request.getConvergence() : formulaCriterion;
+
+        double criterionTolerance;
+        if (request.getTolerance() != null) {
+            criterionTolerance = request.getTolerance();
+        } else if (criterion == formulaCriterion && formula.getTolerance() != null) {
+            criterionTolerance = formula.getTolerance();
+        } else if (criterion == defaultCriterion) {
+            criterionTolerance = tolerance;
+        } else {
+            criterionTolerance = criterion.getDefaultTolerance();
+        }
+        return ConvergencePolicy.of(criterion, criterionTolerance, stagnationLimit);
+    }
+
+    /**
+     * The budget for a request: the configured defaults, tightened by the request's own limits.
+     */
+    SolveBudget budget(GoalSeekRequest request) {
+        Duration timeout = defaultTimeout.isZero() ? null : defaultTimeout;
+        if (request.getTimeoutMillis() != null) {
+            Duration requested = Duration.ofMillis(request.getTimeoutMillis());
+            if (timeout == null || requested.compareTo(timeout) < 0) {
+                timeout = requested;
+            }
+        }
+
+        long maxEvaluations = defaultMaxEvaluations;
+        if (request.getMaxEvaluations() != null &&
+            (maxEvaluations <= 0 || request.getMaxEvaluations() < maxEvaluations)) {
+            maxEvaluations = request.getMaxEvaluations();
+        }
+        return SolveBudget.of(timeout, maxEvaluations);
+    }
+
+    /**
+     * Solve with the formula's closed-form inverse when the seek variable can be isolated.
+     * The solution is checked by evaluating the formula, since the inverse may be on the
+     * wrong branch, and must lie within the bounds if the request gives both.
+     *
+     * @return the result, or null if the iterative algorithms should be used instead
+     */
+    private GoalSeekResult solveAnalytically(Formula formula, GoalSeekRequest request, SeekBinding binding,
+                                             ConvergencePolicy convergence) {
+        long start = System.nanoTime();
+        DoubleUnaryOperator inverse = formulaEvaluator.createInverse(binding);
+        if (inverse == null) {
+            return null;
+        }
+
+        double target = request.getTargetValue();
+        double value = inverse.applyAsDouble(target);
+        if (!Double.isFinite(value)) {
+            return null;
+        }
+        if (request.getLowerBound() != null && request.getUpperBound() != null &&
+            (value < request.getLowerBound() || value > request.getUpperBound())) {
+            return null;
+        }
+
+        double achieved = formulaEvaluator.createFunction(binding).applyAsDouble(value);
+        double error = Math.abs(achieved - target);
+        // The inverse is exact up to rounding, so allow a few ulps on large targets
+        if (!convergence.isResidualConverged(error, target) && !(error <= ANALYTIC_ULPS * Math.ulp(target))) {
+            return null;
+        }
+
+        GoalSeekResult result = GoalSeekResult.builder()
+                .converged(true)
+                .value(value)
+                .achievedValue(achieved)
+                .error(error)
+                .iterations(0)
+                .algorithm("Analytic")
+                .message("Solved analytically")
+                .evaluations(1)
                 .build();
+        metrics.recordSolve(formula.getName(), result, System.nanoTime() - start);
+        return result;
     }
 
+    /**
+     * Bound the formula's range by interval analysis and reject the request if the target lies
+     * outside it, since no value of the seek variable could reach it.
+     *
+     * @return a sign bound for the bracket search, proving where the target cannot be reached
+     */
+    private SignBound checkReachable(Formula formula, GoalSeekRequest request, SeekBinding binding) {
+        UnaryOperator<Interval> range = formulaEvaluator.createRange(binding);
+        if (range == null) {
+            return SignBound.NONE;
+        }
+
+        double target = request.getTargetValue();
+        Interval reachable = range.apply(Interval.ENTIRE);
+        if (reachable.isEmpty()) {
+            throw new TargetUnreachableException("Formula '" + formula.getName() + "' is undefined for every value of "
+                    + request.getSeekVariable() + " with the given known values");
+        }
+        if (!reachable.contains(target)) {
+            throw new TargetUnreachableException("Target value " + target + " is outside the range " + reachable
+                    + " that formula '" + formula.getName() + "' can reach for " + request.getSeekVariable());
+        }
+
+        return (lower, upper) -> {
+            Interval values = range.apply(new Interval(lower, upper));
+            if (values.lower() > target) {
+                return 1;
+            } else if (values.upper() < target) {
+                return -1;
+            }
+            return 0;
+        };
+    }
+
+    /**
+     * The solution of a similar earlier request, to start the bracket search from. Not used when
+     * the request gives an initial guess, or when the solution lies outside the bounds.
+     */
+    private WarmStartIndex.Hint warmStartHint(Formula formula, GoalSeekRequest request,
+                                              double lowerBound, double upperBound) {
+        if (request.getInitialGuess() != null) {
+            return null;
+        }
+        WarmStartIndex.Hint hint = warmStartIndex.lookup(formula, request);
+        if (hint != null && (hint.value() < lowerBound || hint.value() > upperBound)) {
+            hint = null;
+        }
+        if (hint == null) {
+            metrics.recordWarmStartLookup(formula.getName(), GoalSeekMetrics.WARM_START_MISS);
+        }
+        return hint;
+    }
+
+    /**
+     * Search for a bracket once, so that every algorithm starts from it instead of its own bounds.
+     * With a warm start hint, a few widenings of the range around it, within the bounds, are tried
+     * first; if they fail, the hint is stale and the full search walks from it. Otherwise the walk starts from
+     * the initial guess if there is one.
+     */
+    private Bracket findBracket(Formula formula, GoalSeekRequest request, SeekBinding binding, SignBound sign,
+                                WarmStartIndex.Hint hint, double lowerBound, double upperBound, SolveBudget budget) {
+        DoubleUnaryOperator function = budget.meter(formulaEvaluator.createFunction(binding));
+        DoubleUnaryOperator g = x -> function.applyAsDouble(x) - request.getTargetValue();
+
+        int warmEvaluations = 0;
+        double center = request.getInitialGuess() != null ? request.getInitialGuess() : Double.NaN;
+        if (hint != null) {
+            Bracket warm = BracketSearch.around(g, sign, hint.value(), hint.radius(), lowerBound, upperBound,
+                    WARM_START_EXPANSIONS, budget);
+            if (warm.isFound()) {
+                metrics.recordWarmStartLookup(formula.getName(), GoalSeekMetrics.WARM_START_HIT);
+                metrics.recordBracketSearch(formula.getName(), warm);
+                return warm;
+            }
+            metrics.recordWarmStartLookup(formula.getName(), GoalSeekMetrics.WARM_START_STALE);
+            warmEvaluations = warm.evaluations();
+            center = hint.value();
+        }
+
+        Bracket bracket = BracketSearch.find(g, sign, lowerBound, upperBound, center, maxIterations / 4, budget);
+        if (warmEvaluations > 0) {
+            bracket = new Bracket(bracket.lower(), bracket.upper(), bracket.expansions(),
+                    warmEvaluations + bracket.evaluations());
+        }
+        metrics.recordBracketSearch(formula.getName(), bracket);
+        return bracket;
+    }
+
+    /**
+     * Result standing in for the bracketing algorithms when no bracket was found. No algorithm ran,
+     * so it is attributed to the bracket search rather than to one of them.
+     */
+    private GoalSeekResult bracketNotFound(SolveBudget budget) {
+        return GoalSeekResult.builder()
+                .converged(false)
+                .value(Double.NaN)
+                .achievedValue(Double.NaN)
+                .error(Double.POSITIVE_INFINITY)
+                .iterations(0)
+                .algorithm(BracketSearch.NAME)
+                .message(budget.isExhausted() ? budget.exhaustedMessage() : "Could not find bracketing interval")
+                .deadlineExceeded(budget.isExhausted())
+                .build();
+    }
+
+    /**
+     * Run the algorithms one after another until one converges or the budget runs out, in the
+     * order the {@link AlgorithmSelector} has learned for the formula and seek variable. The
+     * default order is Brent first, then the others. Without a bracket, only the algorithms that
+     * do not need one run.
+     */
+    private GoalSeekResult solveSequentially(Formula formula, GoalSeekRequest request, SeekBinding binding,
+                                             boolean bracketed, double lowerBound, double upperBound,
+                                             ConvergencePolicy convergence, SolveBudget budget) {
+        DoubleUnaryOperator function = budget.meter(formulaEvaluator.createFunction(binding));
+        DoubleUnaryOperator derivative = budget.meter(formulaEvaluator.createDerivative(binding));
+
+        List<GoalSeekAlgorithm> order = algorithmSelector.order(formula.getName(), request.getSeekVariable(),
+                candidates(bracketed));
+
+        GoalSeekResult result = bracketNotFound(budget);
+        for (int i = 0; i < order.size(); i++) {
+            if (i > 0 && budget.isExhausted()) break;
+
+            GoalSeekAlgorithm algorithm = order.get(i);
+            if (i > 0) {
+                metrics.recordFallback(formula.getName(), algorithm.getName());
+            }
+            GoalSeekResult altResult = solveWith(algorithm, formula, request, function, derivative,
+                    lowerBound, upperBound, convergence, budget);
+
+            if (i == 0 || altResult.isConverged() || altResult.getError() < result.getError()) {
+                result = altResult;
+                if (result.isConverged()) break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Run all algorithms concurrently and return the first one that converges.
+     * The others are cancelled cooperatively: their next function evaluation throws.
+     * The contenders share one budget.
+     * If none converge, the result with the smallest error wins, preferring Brent on ties
+     * as the sequential strategy does. Without a bracket, only the algorithms that do not
+     * need one take part.
+     */
+    private GoalSeekResult solveByRace(Formula formula, GoalSeekRequest request, SeekBinding binding,
+                                       boolean bracketed, double lowerBound, double upperBound,
+                                       ConvergencePolicy convergence, SolveBudget budget) {
+        List<GoalSeekAlgorithm> contenders = candidates(bracketed);
+        if (contenders.isEmpty()) {
+            return bracketNotFound(budget);
+        }
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        CompletionService<GoalSeekResult> completion = new ExecutorCompletionService<>(goalSeekRacePool);
+        List<Future<GoalSeekResult>> futures = new ArrayList<>();
+        for (GoalSeekAlgorithm algorithm : contenders) {
+            // Each contender gets its own function instance, since bound functions are not thread-safe
+            DoubleUnaryOperator function = cancellable(budget.meter(formulaEvaluator.createFunction(binding)),
+                    cancelled);
+            DoubleUnaryOperator derivative = cancellable(budget.meter(formulaEvaluator.createDerivative(binding)),
+                    cancelled);
+            futures.add(completion.submit(() -> solveWith(algorithm, formula, request, function, derivative,
+                    lowerBound, upperBound, convergence, budget)));
+        }
+
+        GoalSeekResult[] results = new GoalSeekResult[contenders.size()];
+        RuntimeException failure = null;
+        try {
+            for (int i = 0; i < contenders.size(); i++) {
+                Future<GoalSeekResult> done = completion.take();
+                try {
+                    GoalSeekResult result = done.get();
+                    if (result.isConverged()) {
+                        return result;
+                    }
+                    results[futures.indexOf(done)] = result;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException runtime
+                                ? runtime : new GoalSeekException(e.getCause().getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GoalSeekException("Goal seek was interrupted");
+        } finally {
+            cancelled.set(true);
+        }
+
+        GoalSeekResult best = null;
+        for (GoalSeekResult result : results) {
+            if (result != null && (best == null || result.getError() < best.getError())) {
+                best = result;
+            }
+        }
+        if (best == null) {
+            throw failure;
+        }
+        return best;
+    }
+
+    /**
+     * The algorithms that can run, in the default order: Brent first, then the others.
+     * Without a bracket, the algorithms that need one are left out.
+     */
+    private List<GoalSeekAlgorithm> candidates(boolean bracketed) {
+        List<GoalSeekAlgorithm> candidates = new ArrayList<>();
+        if (bracketed) {
+            candidates.add(brentAlgorithm);
+        }
+        for (GoalSeekAlgorithm algorithm : algorithms) {
+            if (!algorithm.getName().equals("Brent") && (bracketed || !algorithm.isBracketing())) {
+                candidates.add(algorithm);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Run one algorithm, recording its latency, iterations and the function evaluations it reports
+     * in the metrics and in the algorithm selector's statistics.
+     */
+    private GoalSeekResult solveWith(GoalSeekAlgorithm algorithm, Formula formula, GoalSeekRequest request,
+                                     DoubleUnaryOperator function, DoubleUnaryOperator derivative,
+                                     double lowerBound, double upperBound,
+                                     ConvergencePolicy convergence, SolveBudget budget) {
+        long start = System.nanoTime();
+        GoalSeekResult result;
+        try {
+            result = algorithm.solve(function, derivative, request.getTargetValue(),
+                    lowerBound, upperBound, convergence, maxIterations, budget);
+        } catch (RuntimeException e) {
+            boolean cancelled = e instanceof CancellationException;
+            metrics.recordSolveFailure(formula.getName(), algorithm.getName(), cancelled, System.nanoTime() - start);
+            if (!cancelled) {
+                algorithmSelector.recordFailure(formula.getName(), request.getSeekVariable(), algorithm.getName());
+            }
+            throw e;
+        }
+        metrics.recordSolve(formula.getName(), result, System.nanoTime() - start);
+        algorithmSelector.record(formula.getName(), request.getSeekVariable(), result);
+        return result;
+    }
+
+    private static DoubleUnaryOperator cancellable(DoubleUnaryOperator function, AtomicBoolean cancelled) {
+        if (function == null) {
+            return null;
+        }
+        return x -> {
+            if (cancelled.get()) {
+                throw new CancellationException("Goal seek race already decided");
+            }
+            return function.applyAsDouble(x);
+        };
+    }
+
+    /**
+     * Evaluate a formula with a value for each of its variables. The values are copied once into
+     * the slots of the formula compiled over its declared variables; other entries are ignored.
+     */
     public double evaluateFormula(String formulaName, Map<String, Double> values) {
         Formula formula = formulaService.getFormulaEntityByName(formulaName);
-        return formulaEvaluator.evaluate(formula.getExpression(), values);
+        CompiledFormula compiled = formulaEvaluator.compile(formula.getExpression(), formula.getVariables());
+
+        List<String> slots = compiled.getVariables();
+        double[] slotValues = new double[slots.size()];
+        for (int i = 0; i < slotValues.length; i++) {
+            Double value = values.get(slots.get(i));
+            if (value == null) {
+                throw new FormulaEvaluationException("Missing value for variable: " + slots.get(i));
+            }
+            slotValues[i] = value;
+        }
+        return formulaEvaluator.evaluate(compiled, slotValues);
+    }
+
+    /**
+     * Evaluate a formula over columns of values, one per variable and all of the same length.
+     * The columns are handed to the evaluator as they are, without copying any row.
+     *
+     * @return one result per row; rows that cannot be evaluated are NaN
+     */
+    public double[] evaluateFormulaColumns(String formulaName, Map<String, double[]> columns) {
+        Formula formula = formulaService.getFormulaEntityByName(formulaName);
+        CompiledFormula compiled = formulaEvaluator.compile(formula.getExpression(), formula.getVariables());
+
+        List<String> slots = compiled.getVariables();
+        double[][] slotColumns = new double[slots.size()][];
+        int rows = 0;
+        for (int i = 0; i < slotColumns.length; i++) {
+            double[] column = columns.get(slots.get(i));
+            if (column == null) {
+                throw new FormulaEvaluationException("Missing values for variable: " + slots.get(i));
+            }
+            if (i > 0 && column.length != rows) {
+                throw new FormulaEvaluationException("Variable " + slots.get(i) + " has " + column.length
+                        + " values but " + slots.get(0) + " has " + rows);
+            }
+            rows = column.length;
+            slotColumns[i] = column;
+        }
+        if (rows > maxEvaluateRows) {
+            throw new GoalSeekException("Batch of " + rows + " rows exceeds the maximum of " + maxEvaluateRows);
+        }
+        return formulaEvaluator.evaluate(compiled, slotColumns, rows);
     }
 }
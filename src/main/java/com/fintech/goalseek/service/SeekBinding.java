@@ -0,0 +1,20 @@
+package com.fintech.goalseek.service;
+
+import java.util.List;
+
+/**
+ * The known values of one goal seek resolved to slots by {@link FormulaEvaluator#bind}.
+ * {@code values[i]} is the value of {@code variables.get(i)}; the seek variable's slot is unused.
+ * Functions of the seek variable are created from it without looking up any variable by name.
+ *
+ * @param expression the formula expression
+ * @param variables  the known variables and the seek variable, in slot order
+ * @param values     the known values in slot order; must not be modified
+ * @param seekSlot   the slot of the seek variable
+ */
+public record SeekBinding(String expression, List<String> variables, double[] values, int seekSlot) {
+
+    public String seekVariable() {
+        return variables.get(seekSlot);
+    }
+}
@@ -0,0 +1,248 @@
+package com.fintech.goalseek.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.goalseek.dto.BatchGoalSeekItem;
+import com.fintech.goalseek.dto.GoalSeekRequest;
+import com.fintech.goalseek.dto.GoalSeekResponse;
+import com.fintech.goalseek.entity.Formula;
+import com.fintech.goalseek.exception.GoalSeekException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Service for solving an unbounded stream of newline-delimited JSON goal seek requests.
+ *
+ * <p>The calling thread parses one line at a time and hands it to the goal seek pool.
+ * At most {@code goalseek.stream.max-in-flight} requests are pending at once; when the
+ * window is full the reader stops pulling input, which pushes back on the client.
+ * Each result is written as soon as it is solved, so results may arrive out of
+ * order and carry the zero-based index of their input line. Memory use depends on
+ * the window size, not on the length of the stream. A line longer than
+ * {@code goalseek.stream.max-line-length} characters is skipped and answered with an error.
+ */
+@Service
+public class StreamingGoalSeekService {
+
+    private final GoalSeekService goalSeekService;
+    private final FormulaService formulaService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool goalSeekPool;
+
+    @Value("${goalseek.stream.max-in-flight:256}")
+    private int maxInFlight;
+
+    @Value("${goalseek.stream.max-line-length:65536}")
+    private int maxLineLength;
+
+    public StreamingGoalSeekService(GoalSeekService goalSeekService, FormulaService formulaService,
+                                    Validator validator, ObjectMapper objectMapper,
+                                    ForkJoinPool goalSeekPool) {
+        this.goalSeekService = goalSeekService;
+        this.formulaService = formulaService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.goalSeekPool = goalSeekPool;
+    }
+
+    public void seekGoals(InputStream in, OutputStream out) throws IOException {
+        Semaphore window = new Semaphore(maxInFlight);
+        AtomicReference<IOException> writeFailure = new AtomicReference<>();
+        Map<String, Formula> formulas = new HashMap<>();
+        LineReader reader = new LineReader(new InputStreamReader(in, StandardCharsets.UTF_8), maxLineLength);
+
+        try {
+            int index = 0;
+            String line;
+            while ((line = reader.next()) != null && writeFailure.get() == null) {
+                if (!reader.truncated() && line.isBlank()) {
+                    continue;
+                }
+                int lineIndex = index++;
+
+                GoalSeekRequest request;
+                Formula formula;
+                try {
+                    if (reader.truncated()) {
+                        throw new GoalSeekException("Request line is longer than the maximum of "
+                                + maxLineLength + " characters");
+                    }
+                    request = parse(line);
+                    formula = formulas.get(request.getFormulaName());
+                    if (formula == null) {
+                        formula = formulaService.getFormulaEntityByName(request.getFormulaName());
+                        formulas.put(formula.getName(), formula);
+                    }
+                    goalSeekService.validateSeekVariable(formula, request.getSeekVariable());
+                } catch (RuntimeException e) {
+                    write(out, error(lineIndex, e.getMessage()), writeFailure);
+                    continue;
+                }
+
+                window.acquire();
+                Formula resolved = formula;
+                goalSeekPool.execute(() -> {
+                    try {
+                        write(out, solve(lineIndex, resolved, request), writeFailure);
+                    } finally {
+                        window.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GoalSeekException("Streaming goal seek was interrupted");
+        } finally {
+            // Wait for the pipeline to drain, also when reading failed, since the tasks in
+            // flight still write to the response. An interrupt stays set.
+            window.acquireUninterruptibly(maxInFlight);
+        }
+
+        if (writeFailure.get() != null) {
+            throw writeFailure.get();
+        }
+    }
+
+    private GoalSeekRequest parse(String line) {
+        GoalSeekRequest request;
+        try {
+            request = objectMapper.readValue(line, GoalSeekRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new GoalSeekException("Malformed request: " + e.getOriginalMessage());
+        }
+        Set<ConstraintViolation<GoalSeekRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new GoalSeekException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return request;
+    }
+
+    private BatchGoalSeekItem solve(int index, Formula formula, GoalSeekRequest request) {
+        try {
+            GoalSeekResponse response = goalSeekService.seekGoal(formula, request);
+            return BatchGoalSeekItem.builder()
+                    .index(index)
+                    .status(BatchGoalSeekItem.STATUS_OK)
+                    .result(response)
+                    .build();
+        } catch (RuntimeException e) {
+            return error(index, e.getMessage());
+        }
+    }
+
+    private BatchGoalSeekItem error(int index, String message) {
+        return BatchGoalSeekItem.builder()
+                .index(index)
+                .status(BatchGoalSeekItem.STATUS_ERROR)
+                .error(message)
+                .build();
+    }
+
+    private void write(OutputStream out, BatchGoalSeekItem item, AtomicReference<IOException> writeFailure) {
+        if (writeFailure.get() != null) {
+            return;
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(item);
+            synchronized (out) {
+                out.write(json);
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            writeFailure.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Reads lines of at most a given length, so a line without a newline cannot grow without
+     * bound. The rest of a longer line is skipped.
+     */
+    private static final class LineReader {
+
+        private final Reader in;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean truncated;
+
+        LineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * Read the next line, without its terminator.
+         *
+         * @return the line, cut to the maximum length, or null at the end of the input
+         */
+        String next() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = in.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return read ? terminated() : null;
+                    }
+                }
+                read = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                int room = maxLength - line.length();
+                if (position - start > room) {
+                    line.append(buffer, start, Math.max(0, room));
+                    truncated = true;
+                } else {
+                    line.append(buffer, start, position - start);
+                }
+                if (position < limit) {
+                    position++;
+                    return terminated();
+                }
+            }
+        }
+
+        /**
+         * Whether the last line read was longer than the maximum length.
+         */
+        boolean truncated() {
+            return truncated;
+        }
+
+        private String terminated() {
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(length - 1);
+            }
+            return line.toString();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.fintech.goalseek.service;
+
+import com.fintech.goalseek.dto.GoalSeekRequest;
+import com.fintech.goalseek.entity.Formula;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded index of recent goal seek solutions, used to start new solves near the answer.
+ *
+ * <p>For each formula and seek variable the index keeps the last
+ * {@code goalseek.warm-start.capacity} solutions in a ring, each with the known values and
+ * target it solved. A lookup scans the ring for the nearest previous problem, measuring
+ * distance as the largest relative difference of any known value or the target. Within
+ * {@code goalseek.warm-start.max-distance}, the previous solution is returned as a
+ * {@link Hint} whose radius grows with the distance. The ring is written without locks;
+ * a lookup racing a write may miss the newest solution, which is harmless.
+ */
+@Component
+public class WarmStartIndex {
+
+    /**
+     * Smallest hint radius relative to the solution, so an exact repeat still gets a bracket.
+     */
+    private static final double MIN_RELATIVE_RADIUS = 1e-3;
+
+    private static final double MIN_RADIUS = 1e-9;
+
+    private final Map<Key, Ring> rings = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int capacity;
+    private final double maxDistance;
+
+    public WarmStartIndex(@Value("${goalseek.warm-start.enabled:true}") boolean enabled,
+                          @Value("${goalseek.warm-start.capacity:256}") int capacity,
+                          @Value("${goalseek.warm-start.max-distance:0.25}") double maxDistance) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Warm start capacity must not be negative");
+        }
+        // A capacity of 0 keeps no solutions, which is the same as disabled
+        this.enabled = enabled && capacity > 0;
+        this.capacity = capacity;
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * A previous solution near the request's, and how far around it to look for the new one.
+     */
+    public record Hint(double value, double radius) {
+    }
+
+    /**
+     * Find the solution of the nearest previous problem.
+     *
+     * @return the hint, or null if the index holds nothing close enough
+     */
+    public Hint lookup(Formula formula, GoalSeekRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        Ring ring = rings.get(new Key(formula.getName(), request.getSeekVariable()));
+        if (ring == null) {
+            return null;
+        }
+        double[] point = point(formula, request);
+
+        Solution nearest = null;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < ring.solutions.length(); i++) {
+            Solution solution = ring.solutions.get(i);
+            if (solution != null) {
+                double distance = distance(point, solution.point(), nearestDistance);
+                if (distance < nearestDistance) {
+                    nearest = solution;
+                    nearestDistance = distance;
+                }
+            }
+        }
+        if (nearest == null || nearestDistance > maxDistance) {
+            return null;
+        }
+        double radius = Math.abs(nearest.value()) * Math.max(nearestDistance, MIN_RELATIVE_RADIUS);
+        return new Hint(nearest.value(), Math.max(radius, MIN_RADIUS));
+    }
+
+    /**
+     * Add a converged solution, replacing the oldest once the ring is full.
+     */
+    public void record(Formula formula, GoalSeekRequest request, double value) {
+        if (!enabled || !Double.isFinite(value)) {
+            return;
+        }
+        Ring ring = rings.computeIfAbsent(new Key(formula.getName(), request.getSeekVariable()),
+                key -> new Ring(capacity));
+        int slot = Math.floorMod(ring.next.getAndIncrement(), capacity);
+        ring.solutions.set(slot, new Solution(point(formula, request), value));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFormulaChanged(FormulaChangedEvent event) {
+        rings.keySet().removeIf(key -> key.formulaName().equals(event.name()));
+    }
+
+    /**
+     * The known values, in the formula's variable order without the seek variable, then the target.
+     */
+    private static double[] point(Formula formula, GoalSeekRequest request) {
+        List<String> variables = formula.getVariables();
+        double[] point = new double[variables.size()];
+        int i = 0;
+        for (String variable : variables) {
+            if (!variable.equals(request.getSeekVariable())) {
+                point[i++] = request.getKnownValues().get(variable);
+            }
+        }
+        point[i] = request.getTargetValue();
+        return point;
+    }
+
+    /**
+     * The largest relative difference between two points, giving up once it reaches the cutoff.
+     */
+    private static double distance(double[] a, double[] b, double cutoff) {
+        if (a.length != b.length) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double distance = 0;
+        for (int i = 0; i < a.length && distance < cutoff; i++) {
+            double scale = Math.max(Math.abs(a[i]), Math.abs(b[i]));
+            if (scale > 0) {
+                distance = Math.max(distance, Math.abs(a[i] - b[i]) / scale);
+            }
+        }
+        return distance;
+    }
+
+    private record Key(String formulaName, String seekVariable) {
+    }
+
+    private record Solution(double[] point, double value) {
+    }
+
+    private static final class Ring {
+
+        private final AtomicReferenceArray<Solution> solutions;
+        private final AtomicInteger next = new AtomicInteger();
+
+        Ring(int capacity) {
+            this.solutions = new AtomicReferenceArray<>(capacity);
+        }
+    }
+}
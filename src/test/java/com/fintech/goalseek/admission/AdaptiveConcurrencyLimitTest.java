@@ -0,0 +1,107 @@
+package com.fintech.goalseek.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.fintech.goalseek.admission.AdaptiveConcurrencyLimit.Decision.ADMITTED;
+import static com.fintech.goalseek.admission.AdaptiveConcurrencyLimit.Decision.CLIENT_LIMITED;
+import static com.fintech.goalseek.admission.AdaptiveConcurrencyLimit.Decision.OVERLOADED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    /**
+     * A fixed limit of 4 with a client share of half, so 2 slots per client.
+     */
+    private AdaptiveConcurrencyLimit limit(int queueSize, Duration maxWait) {
+        return new AdaptiveConcurrencyLimit(false, 4, 1, 64, queueSize, maxWait, 0.5, 20, registry);
+    }
+
+    private double requests(String outcome) {
+        return registry.get("goalseek.admission.requests").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void clientOverItsShareLeavesTheLastSlotFree() {
+        AdaptiveConcurrencyLimit limit = limit(8, Duration.ZERO);
+
+        assertEquals(ADMITTED, limit.acquire("a"));
+        assertEquals(ADMITTED, limit.acquire("a"));
+        // Over its share, but two slots are free
+        assertEquals(ADMITTED, limit.acquire("a"));
+        assertEquals(CLIENT_LIMITED, limit.acquire("a"));
+
+        assertEquals(ADMITTED, limit.acquire("b"));
+        assertEquals(4, limit.getInFlight());
+    }
+
+    @Test
+    void clientLimitedRequestIsNotQueued() {
+        AdaptiveConcurrencyLimit limit = limit(8, Duration.ofSeconds(5));
+        limit.acquire("a");
+        limit.acquire("a");
+        limit.acquire("b");
+        limit.acquire("b");
+
+        long start = System.nanoTime();
+        assertEquals(CLIENT_LIMITED, limit.acquire("a"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limit.getQueued());
+        assertEquals(1, requests(AdaptiveConcurrencyLimit.OUTCOME_CLIENT_LIMITED));
+    }
+
+    @Test
+    void fullLimitIsOverloadedOnceTheWaitRunsOut() {
+        AdaptiveConcurrencyLimit limit = limit(8, Duration.ofMillis(20));
+        limit.acquire("a");
+        limit.acquire("a");
+        limit.acquire("b");
+        limit.acquire("b");
+
+        assertEquals(OVERLOADED, limit.acquire("c"));
+        assertEquals(0, limit.getQueued());
+        assertEquals(1, requests(AdaptiveConcurrencyLimit.OUTCOME_TIMED_OUT));
+    }
+
+    @Test
+    void fullQueueIsOverloadedAtOnce() {
+        AdaptiveConcurrencyLimit limit = limit(0, Duration.ofSeconds(5));
+        limit.acquire("a");
+        limit.acquire("a");
+        limit.acquire("b");
+        limit.acquire("b");
+
+        assertEquals(OVERLOADED, limit.acquire("c"));
+        assertEquals(1, requests(AdaptiveConcurrencyLimit.OUTCOME_REJECTED));
+    }
+
+    @Test
+    void releasedSlotGoesToWaitingRequest() throws Exception {
+        AdaptiveConcurrencyLimit limit = limit(8, Duration.ofSeconds(5));
+        limit.acquire("a");
+        limit.acquire("a");
+        limit.acquire("b");
+        limit.acquire("b");
+
+        CompletableFuture<AdaptiveConcurrencyLimit.Decision> waiting =
+                CompletableFuture.supplyAsync(() -> limit.acquire("c"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limit.getQueued() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, limit.getQueued());
+
+        limit.release("a", TimeUnit.MILLISECONDS.toNanos(1), false);
+        assertEquals(ADMITTED, waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(4, limit.getInFlight());
+        assertEquals(1, requests(AdaptiveConcurrencyLimit.OUTCOME_QUEUED));
+    }
+}
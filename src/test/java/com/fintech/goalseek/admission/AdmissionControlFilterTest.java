@@ -0,0 +1,121 @@
+package com.fintech.goalseek.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlFilterTest {
+
+    private static final String CLIENT_HEADER = "X-Client-Id";
+
+    /**
+     * A fixed limit of 4 with 2 slots per client and no wait for a slot.
+     */
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+            false, 4, 1, 64, 8, Duration.ZERO, 0.5, 20, new SimpleMeterRegistry());
+
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(
+            limit, Jackson2ObjectMapperBuilder.json().build(), CLIENT_HEADER, 1);
+
+    private static MockHttpServletRequest request(String method, String uri, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader(CLIENT_HEADER, client);
+        return request;
+    }
+
+    private void fill() {
+        limit.acquire("a");
+        limit.acquire("a");
+        limit.acquire("b");
+        limit.acquire("b");
+    }
+
+    @Test
+    void admittedRequestReleasesItsSlot() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("POST", "/api/goal-seek", "c"), response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void failedRequestReleasesItsSlot() {
+        FilterChain chain = (request, response) -> {
+            throw new ServletException("failed");
+        };
+
+        assertThrows(ServletException.class, () -> filter.doFilter(
+                request("POST", "/api/goal-seek", "c"), new MockHttpServletResponse(), chain));
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void overloadedRequestIsRejectedWith503() throws Exception {
+        fill();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("POST", "/api/goal-seek/evaluate", "c"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("Server is overloaded"));
+        assertEquals(4, limit.getInFlight());
+    }
+
+    @Test
+    void clientOverItsShareIsRejectedWith429() throws Exception {
+        limit.acquire("c");
+        limit.acquire("c");
+        limit.acquire("c");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("POST", "/api/goal-seek", "c"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("Too many concurrent requests"));
+    }
+
+    @Test
+    void jobsStreamsAndReadsAreNotAdmitted() throws Exception {
+        fill();
+        String[][] requests = {
+                {"POST", "/api/goal-seek/jobs"},
+                {"POST", "/api/goal-seek/stream"},
+                {"GET", "/api/goal-seek/jobs/1"},
+                {"POST", "/api/formulas"},
+        };
+        for (String[] passed : requests) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request(passed[0], passed[1], "c"), response, chain);
+
+            assertNotNull(chain.getRequest(), passed[0] + " " + passed[1]);
+            assertEquals(200, response.getStatus());
+        }
+        assertEquals(4, limit.getInFlight());
+    }
+}
@@ -0,0 +1,129 @@
+package com.fintech.goalseek.service;
+
+import com.fintech.goalseek.dto.BatchGoalSeekItem;
+import com.fintech.goalseek.dto.BatchGoalSeekRequest;
+import com.fintech.goalseek.dto.GoalSeekJobResponse;
+import com.fintech.goalseek.dto.GoalSeekRequest;
+import com.fintech.goalseek.entity.Formula;
+import com.fintech.goalseek.exception.JobNotFoundException;
+import com.fintech.goalseek.exception.JobRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GoalSeekJobServiceTest {
+
+    private static final long MAX_RETAINED_ITEMS = 10;
+
+    /**
+     * Items are solved once this opens.
+     */
+    private final CountDownLatch solving = new CountDownLatch(1);
+
+    /**
+     * One worker and room for one queued job.
+     */
+    private final ThreadPoolExecutor pool =
+            new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+
+    private final BatchGoalSeekService batchGoalSeekService = new BatchGoalSeekService(null, null, null, null) {
+        @Override
+        BatchGoalSeekItem seekGoal(int index, GoalSeekRequest request, Map<String, Formula> formulas) {
+            try {
+                solving.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return BatchGoalSeekItem.builder().index(index).status(BatchGoalSeekItem.STATUS_OK).build();
+        }
+    };
+
+    private final GoalSeekJobService service = new GoalSeekJobService(batchGoalSeekService, pool,
+            new SimpleMeterRegistry(), 100, 100, Duration.ofHours(1), MAX_RETAINED_ITEMS);
+
+    @AfterEach
+    void stop() {
+        solving.countDown();
+        pool.shutdownNow();
+    }
+
+    private static BatchGoalSeekRequest batch(int size) {
+        return BatchGoalSeekRequest.builder()
+                .requests(Collections.nCopies(size, GoalSeekRequest.builder().build()))
+                .build();
+    }
+
+    /**
+     * Wait until the pool has run this many jobs to the end, including the service's accounting.
+     */
+    private void awaitJobs(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pool.getCompletedTaskCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, pool.getCompletedTaskCount());
+    }
+
+    @Test
+    void queuedAndRunningJobsCountTheirRequests() {
+        service.submit(batch(4));
+        service.submit(batch(3));
+        assertEquals(7, service.getRetainedItems());
+
+        JobRejectedException e = assertThrows(JobRejectedException.class, () -> service.submit(batch(4)));
+        assertTrue(e.getMessage().contains("too many items"));
+        assertEquals(7, service.getRetainedItems());
+    }
+
+    @Test
+    void finishedJobCountsItsResults() throws Exception {
+        service.submit(batch(4));
+        GoalSeekJobResponse queued = service.submit(batch(3));
+
+        // A cancelled job without results still counts one item
+        service.cancel(queued.getId());
+        assertEquals(5, service.getRetainedItems());
+
+        // The cancelled job is purged from the queue and never runs
+        solving.countDown();
+        awaitJobs(1);
+        assertEquals(5, service.getRetainedItems());
+    }
+
+    @Test
+    void oldestFinishedJobsAreDroppedToMakeRoom() throws Exception {
+        solving.countDown();
+        GoalSeekJobResponse first = service.submit(batch(6));
+        awaitJobs(1);
+        assertEquals(GoalSeekJobResponse.STATUS_COMPLETED, service.getJob(first.getId()).getStatus());
+
+        GoalSeekJobResponse second = service.submit(batch(6));
+
+        assertThrows(JobNotFoundException.class, () -> service.getJob(first.getId()));
+        assertEquals(second.getId(), service.getJob(second.getId()).getId());
+        assertEquals(6, service.getRetainedItems());
+    }
+
+    @Test
+    void jobRejectedByThePoolGivesItsItemsBack() {
+        service.submit(batch(2));
+        service.submit(batch(2));
+        // The worker is busy and the queue is full, though there is room for the items
+
+        JobRejectedException e = assertThrows(JobRejectedException.class, () -> service.submit(batch(2)));
+        assertTrue(e.getMessage().contains("queue is full"));
+        assertEquals(4, service.getRetainedItems());
+    }
+}